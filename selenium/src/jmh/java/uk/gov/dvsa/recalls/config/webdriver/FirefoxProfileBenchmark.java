@@ -0,0 +1,63 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Firefox options sent with every new session, with a profile built for each session and with the shared
+ * one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FirefoxProfileBenchmark {
+
+    private Configurator configurator;
+
+    @Setup
+    public void setUp() {
+
+        configurator = new Configurator() {
+            @Override
+            public boolean isLeanBrowser() {
+
+                return true;
+            }
+        };
+    }
+
+    @Benchmark
+    public Map<String, Object> profilePerSession() {
+
+        FirefoxProfile profile = new FirefoxProfile();
+        profile.setPreference("network.http.prompt-temp-redirect", false);
+        profile.setPreference("javascript.enabled", configurator.getJavascriptStatus());
+        LeanProfile.apply(profile);
+        BrowserProxy.apply(profile, true);
+        return new FirefoxOptions().setProfile(profile).asMap();
+    }
+
+    @Benchmark
+    public Map<String, Object> sharedProfile() {
+
+        return new FirefoxOptions().setProfile(FirefoxProfiles.get(configurator, true)).asMap();
+    }
+}
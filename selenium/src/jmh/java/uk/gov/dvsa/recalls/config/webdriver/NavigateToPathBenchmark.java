@@ -0,0 +1,43 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the URL for a path and sending it to the driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NavigateToPathBenchmark {
+
+    private BaseAppDriver driver;
+
+    @Setup
+    public void setUp() {
+
+        driver = new RemoteAppWebDriver(StubCommandExecutor.createDriver(0));
+        driver.setBaseUrl("http://localhost:3000/");
+    }
+
+    @Benchmark
+    public void navigateToPath() {
+
+        driver.navigateToPath("/recall-type/vehicle/make/OUGHTRED+%26+HARRISON/model/BERLINGO+AMBULANCE/year/2017/recalls");
+    }
+}
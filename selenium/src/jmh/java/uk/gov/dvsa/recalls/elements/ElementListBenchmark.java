@@ -0,0 +1,62 @@
+package uk.gov.dvsa.recalls.elements;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping located lists and of re-locating a single element of a list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementListBenchmark {
+
+    private static final By RECALL_TITLES = By.className("recall-title");
+
+    @Param({"10", "100"})
+    private int elementCount;
+
+    private RemoteWebDriver driver;
+    private List<WebElement> elements;
+    private FindElementsLocator lastElementLocator;
+
+    @Setup
+    public void setUp() {
+
+        driver = StubCommandExecutor.createDriver(elementCount);
+        elements = driver.findElements(RECALL_TITLES);
+        lastElementLocator = new FindElementsLocator(driver, RECALL_TITLES, elementCount - 1);
+    }
+
+    @Benchmark
+    public List<WebElement> wrapList() {
+
+        return DvsaWebElement.wrap(elements, new FindElementLocator(driver, RECALL_TITLES));
+    }
+
+    @Benchmark
+    public WebElement relocateLastElementOfList() {
+
+        return lastElementLocator.locate();
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.dvsa.recalls.navigation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.dvsa.recalls.ui.page.RecallInformationSearchPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding the {@code @GotoUrl} of a page and formatting it, paid on every {@link PageNavigator#goTo}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageNavigatorBenchmark {
+
+    @Benchmark
+    public String resolveGotoUrl() {
+
+        return PageNavigator.resolvePath(RecallInformationSearchPage.class);
+    }
+}
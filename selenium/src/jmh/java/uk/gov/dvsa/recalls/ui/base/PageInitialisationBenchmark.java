@@ -0,0 +1,74 @@
+package uk.gov.dvsa.recalls.ui.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+
+import uk.gov.dvsa.recalls.elements.DvsaElementLocatorFactory;
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of putting element proxies in the fields of a page the size of the results page, with PageFactory and with
+ * the cached {@link PageMetadata}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageInitialisationBenchmark {
+
+    public static class ResultsFields {
+
+        @FindBy(tagName = "h1") WebElement title;
+        @FindBy(id = "cookies-link") WebElement cookiesLink;
+        @FindBy(id = "terms-and-conditions-link") WebElement termsAndConditionsLink;
+        @FindBy(id = "phase-banner") WebElement phaseBanner;
+        @FindBy(id = "vehicle-or-component-title") WebElement header;
+        @FindBy(id = "search-again") WebElement searchAgainButton;
+        @FindBy(className = "recall-title") List<WebElement> recallTitleHeaderList;
+        @FindBy(className = "how-to") List<WebElement> howToCheckRecallType;
+        @FindBy(className = "affected-number") List<WebElement> affectedVehiclesSentences;
+        @FindBy(className = "js-accordion__title-button") List<WebElement> recallAccordions;
+        @FindBy(className = "link-back") WebElement backButton;
+    }
+
+    private RemoteWebDriver driver;
+
+    @Setup
+    public void setUp() {
+
+        driver = StubCommandExecutor.createDriver(1);
+    }
+
+    @Benchmark
+    public ResultsFields pageFactory() {
+
+        ResultsFields page = new ResultsFields();
+        PageFactory.initElements(new DvsaElementLocatorFactory(driver, ResultsFields.class), page);
+        return page;
+    }
+
+    @Benchmark
+    public ResultsFields pageMetadata() {
+
+        ResultsFields page = new ResultsFields();
+        PageMetadata.of(ResultsFields.class).initElements(page, driver);
+        return page;
+    }
+}
@@ -1,10 +1,15 @@
 package uk.gov.dvsa.recalls;
 
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
 import uk.gov.dvsa.recalls.config.Configurator;
 import uk.gov.dvsa.recalls.config.webdriver.BaseAppDriver;
 import uk.gov.dvsa.recalls.config.webdriver.DriverFactory;
+import uk.gov.dvsa.recalls.logging.Logger;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 public class WebDriverConfigurator extends Configurator {
 
@@ -12,16 +17,27 @@ public class WebDriverConfigurator extends Configurator {
 
     private final Thread hook;
 
+    private final String mainWindow;
+
+    private final boolean lean;
+
     public WebDriverConfigurator() {
 
+        this(Configurator.isLeanBrowserEnabled());
+    }
+
+    public WebDriverConfigurator(boolean lean) {
+
+        this.lean = lean;
+
         DriverFactory driverFactory = new DriverFactory();
 
         cachedDriver = driverFactory.getDriver(this);
 
-        cachedDriver.manage().timeouts()
-                .implicitlyWait(getDefaultDriverTimeout(), TimeUnit.SECONDS);
         cachedDriver.manage().deleteAllCookies();
 
+        mainWindow = cachedDriver.getWindowHandle();
+
         hook = closeWebdriverOnShutdown();
     }
 
@@ -35,10 +51,82 @@ public class WebDriverConfigurator extends Configurator {
         return hookForShutdown;
     }
 
+    /**
+     * Wipes the state left behind by a test so the browser can be handed to another one.
+     *
+     * @return false if the browser did not respond and must be replaced
+     */
+    public boolean cleanUp() {
+
+        try {
+            closeExtraWindows();
+            cachedDriver.manage().deleteAllCookies();
+            if (getJavascriptStatus()) {
+                // Web storage is scoped to the current origin, so it has to be cleared before leaving the page
+                cachedDriver.executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            cachedDriver.get("about:blank");
+            return isHealthy();
+        } catch (RuntimeException e) {
+            Logger.error("Unable to clean up browser: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void closeExtraWindows() {
+
+        Set<String> windows = cachedDriver.getWindowHandles();
+        if (windows.size() == 1 && windows.contains(mainWindow)) {
+            return;
+        }
+
+        // Keep the original window if the test left it open, otherwise whichever one is left
+        String keep = windows.contains(mainWindow) ? mainWindow : windows.iterator().next();
+        for (String window : windows) {
+            if (!window.equals(keep)) {
+                cachedDriver.switchTo().window(window).close();
+            }
+        }
+        cachedDriver.switchTo().window(keep);
+    }
+
+    /**
+     * @return true if the failure shows the browser crashed or its session is gone, so it cannot be reset and reused
+     */
+    public static boolean isSessionLost(Throwable failure) {
+
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnreachableBrowserException
+                    || cause instanceof NoSuchSessionException
+                    || cause instanceof SessionNotCreatedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isHealthy() {
+
+        try {
+            return cachedDriver.getWindowHandle() != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     public void destroy() {
-        // Test failed, so nuke browser in case it's in a bad state.
-        cachedDriver.quit();
-        Runtime.getRuntime().removeShutdownHook(hook);
+        // The session is lost or the browser failed its health check, so nuke it.
+        try {
+            cachedDriver.quit();
+        } finally {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        }
+    }
+
+    @Override
+    public boolean isLeanBrowser() {
+
+        return lean;
     }
 
     public BaseAppDriver getDriver() {
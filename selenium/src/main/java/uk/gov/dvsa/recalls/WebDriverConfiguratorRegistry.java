@@ -1,5 +1,8 @@
 package uk.gov.dvsa.recalls;
 
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
 public class WebDriverConfiguratorRegistry {
 
     private static final ThreadLocal<WebDriverConfigurator> webDriverConfigurator =
@@ -8,14 +11,62 @@ public class WebDriverConfiguratorRegistry {
 
     public static WebDriverConfigurator get() {
 
+        return get(Configurator.isLeanBrowserEnabled());
+    }
+
+    /**
+     * @param lean whether to lease a lean browser, if the current thread does not hold a browser already
+     */
+    public static WebDriverConfigurator get(boolean lean) {
+
         WebDriverConfigurator configurator = webDriverConfigurator.get();
         if (configurator == null) {
-            configurator = new WebDriverConfigurator();
+            configurator = WebDriverPool.getInstance(lean).lease();
             webDriverConfigurator.set(configurator);
         }
         return configurator;
     }
 
+    /**
+     * Hands the current thread's browser back to the pool for reuse by the next test.
+     */
+    public static void release() {
+
+        WebDriverConfigurator configurator = webDriverConfigurator.get();
+        if (configurator != null) {
+            WebDriverPool.getInstance(configurator.isLeanBrowser()).release(configurator);
+        }
+        clear();
+    }
+
+    /**
+     * Hands the current thread's browser back after a failure. A browser that still responds is reset and reused like
+     * any other; only one whose session has been lost is quit and replaced.
+     *
+     * @param failure what made the test fail, if anything
+     */
+    public static void release(Throwable failure) {
+
+        if (WebDriverConfigurator.isSessionLost(failure)) {
+            Logger.warn("Replacing webdriver because its session was lost: " + failure);
+            discard();
+        } else {
+            release();
+        }
+    }
+
+    /**
+     * Gives up the current thread's browser; the pool quits it and starts a replacement in the background.
+     */
+    public static void discard() {
+
+        WebDriverConfigurator configurator = webDriverConfigurator.get();
+        if (configurator != null) {
+            WebDriverPool.getInstance(configurator.isLeanBrowser()).discard(configurator);
+        }
+        clear();
+    }
+
     public static void clear() {
 
         webDriverConfigurator.remove();
@@ -0,0 +1,167 @@
+package uk.gov.dvsa.recalls;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of pre-warmed browsers shared by the test threads.
+ *
+ * Browsers are started in the background as soon as the pool is first used, so a thread leasing a driver only waits
+ * for a cold start when every browser is busy or still starting. Returned browsers are cleaned and health-checked off
+ * the test thread before they become available again; broken ones are quit and replaced in the background.
+ *
+ * Lean browsers have a pool of their own, which starts no browsers until a test asks for one.
+ */
+public class WebDriverPool {
+
+    private static final WebDriverPool instance = new WebDriverPool(false);
+    private static final WebDriverPool leanInstance = new WebDriverPool(true);
+
+    private final BlockingQueue<WebDriverConfigurator> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final ExecutorService maintenance;
+    private final int size;
+    private final int leaseTimeout;
+    private final boolean lean;
+
+    private WebDriverPool(boolean lean) {
+
+        this.size = Configurator.getDriverPoolSize();
+        this.leaseTimeout = Configurator.getDriverPoolLeaseTimeout();
+        this.lean = lean;
+        this.maintenance = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, lean ? "webdriver-pool-lean" : "webdriver-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static WebDriverPool getInstance() {
+
+        return getInstance(Configurator.isLeanBrowserEnabled());
+    }
+
+    public static WebDriverPool getInstance(boolean lean) {
+
+        return lean ? leanInstance : instance;
+    }
+
+    /**
+     * Quits the browsers of both pools once those being returned have been cleaned up, so the driver services can be
+     * stopped after them at the end of the suite. The pools cannot be used afterwards.
+     */
+    public static void shutdownAll() {
+
+        instance.shutdown();
+        leanInstance.shutdown();
+    }
+
+    private void shutdown() {
+
+        maintenance.shutdown();
+        try {
+            maintenance.awaitTermination(leaseTimeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<WebDriverConfigurator> browsers = new ArrayList<>();
+        idle.drainTo(browsers);
+        browsers.forEach(WebDriverPool::destroy);
+    }
+
+    /**
+     * Takes an idle browser out of the pool, waiting for one to become available if all of them are leased.
+     *
+     * @return a clean, healthy browser owned by the caller until it is released or discarded
+     */
+    public WebDriverConfigurator lease() {
+
+        warmUp();
+
+        try {
+            WebDriverConfigurator configurator = idle.poll(leaseTimeout, TimeUnit.SECONDS);
+            if (configurator == null) {
+                throw new IllegalStateException(
+                        String.format("No browser became available within %d seconds (pool size %d)", leaseTimeout, size));
+            }
+            return configurator;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser", e);
+        }
+    }
+
+    /**
+     * Returns a browser to the pool. It is cleaned and health-checked in the background and replaced if unhealthy.
+     */
+    public void release(WebDriverConfigurator configurator) {
+
+        maintenance.execute(() -> {
+            configurator.getDriver().awaitScreenShot();
+            if (configurator.cleanUp()) {
+                idle.offer(configurator);
+            } else {
+                Logger.error("Browser failed its health check on return to the pool, replacing it");
+                replace(configurator);
+            }
+        });
+    }
+
+    /**
+     * Quits a browser that is known to be in a bad state and starts a replacement in the background.
+     */
+    public void discard(WebDriverConfigurator configurator) {
+
+        maintenance.execute(() -> replace(configurator));
+    }
+
+    private void replace(WebDriverConfigurator configurator) {
+
+        try {
+            configurator.getDriver().awaitScreenShot();
+            destroy(configurator);
+        } finally {
+            // The slot is free even if the broken browser could not be quit
+            live.decrementAndGet();
+            warmUp();
+        }
+    }
+
+    private static void destroy(WebDriverConfigurator configurator) {
+
+        try {
+            configurator.destroy();
+        } catch (RuntimeException e) {
+            Logger.error("Unable to quit a browser", e);
+        }
+    }
+
+    private void warmUp() {
+
+        int current;
+        while ((current = live.get()) < size) {
+            if (live.compareAndSet(current, current + 1)) {
+                maintenance.execute(this::startBrowser);
+            }
+        }
+    }
+
+    private void startBrowser() {
+
+        try {
+            idle.offer(new WebDriverConfigurator(lean));
+        } catch (RuntimeException e) {
+            live.decrementAndGet();
+            Logger.error("Unable to start a browser for the pool", e);
+        }
+    }
+}
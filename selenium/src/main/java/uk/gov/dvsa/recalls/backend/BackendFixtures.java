@@ -0,0 +1,188 @@
+package uk.gov.dvsa.recalls.backend;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The recalls the backend stand-in serves, read from one JSON file per recall type, such as vehicle.json. Each file
+ * maps makes to models to the recalls of that model, in the form the backend API returns them:
+ * <pre>
+ * {"COOPER": {"LT285/75R16": [{"make": "COOPER", "model": "LT285/75R16", "recallNumber": "RTW/2006/001", ...}]}}
+ * </pre>
+ * The default fixtures are read from the classpath, so the stand-in works from any working directory.
+ */
+public class BackendFixtures {
+
+    private static final String DEFAULT_FIXTURES = "/backend/";
+    private static final List<String> DEFAULT_RECALL_TYPES = Arrays.asList("equipment", "vehicle");
+
+    // recall type, make, model, recalls
+    private final Map<String, Map<String, Map<String, List<Map<String, Object>>>>> recalls;
+
+    BackendFixtures(Map<String, Map<String, Map<String, List<Map<String, Object>>>>> recalls) {
+
+        this.recalls = recalls;
+    }
+
+    /**
+     * @param folder folder of fixture files, or empty for the default fixtures on the classpath
+     */
+    public static BackendFixtures load(String folder) {
+
+        return folder.isEmpty() ? loadDefaults() : load(Paths.get(folder));
+    }
+
+    /**
+     * @throws IllegalStateException if the folder has no fixture files, or one of them is not laid out as above
+     */
+    public static BackendFixtures load(Path folder) {
+
+        Map<String, Map<String, Map<String, List<Map<String, Object>>>>> recalls = new TreeMap<>();
+        for (Path file : listFixtures(folder)) {
+            String recallType = file.getFileName().toString().replaceFirst("\\.json$", "");
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                recalls.put(recallType, read(reader, file.toString()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read backend fixture file " + file, e);
+            }
+        }
+        return new BackendFixtures(recalls);
+    }
+
+    /**
+     * @return the fixtures of every recall type, from the backend folder on the classpath
+     */
+    public static BackendFixtures loadDefaults() {
+
+        Map<String, Map<String, Map<String, List<Map<String, Object>>>>> recalls = new TreeMap<>();
+        for (String recallType : DEFAULT_RECALL_TYPES) {
+            String resource = DEFAULT_FIXTURES + recallType + ".json";
+            InputStream stream = BackendFixtures.class.getResourceAsStream(resource);
+            if (stream == null) {
+                throw new IllegalStateException("Backend fixture " + resource + " is not on the classpath");
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                recalls.put(recallType, read(reader, resource));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read backend fixture " + resource, e);
+            }
+        }
+        return new BackendFixtures(recalls);
+    }
+
+    private static Map<String, Map<String, List<Map<String, Object>>>> read(Reader reader, String name) {
+
+        try (JsonInput input = new Json().newInput(reader)) {
+            return makes(input.read(Json.MAP_TYPE));
+        } catch (JsonException | ClassCastException e) {
+            throw new IllegalStateException("Invalid backend fixture file " + name, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, List<Map<String, Object>>>> makes(Map<String, Object> json) {
+
+        Map<String, Map<String, List<Map<String, Object>>>> makes = new TreeMap<>();
+        json.forEach((make, models) -> {
+            Map<String, List<Map<String, Object>>> byModel = new TreeMap<>();
+            ((Map<String, Object>) models).forEach((model, modelRecalls) ->
+                    byModel.put(model, Collections.unmodifiableList((List<Map<String, Object>>) modelRecalls)));
+            makes.put(make, byModel);
+        });
+        return makes;
+    }
+
+    private static List<Path> listFixtures(Path folder) {
+
+        try (Stream<Path> paths = Files.list(folder)) {
+            List<Path> files = paths.filter(path -> path.toString().endsWith(".json")).sorted()
+                    .collect(Collectors.toList());
+            if (files.isEmpty()) {
+                throw new IllegalStateException("No backend fixture files found in " + folder.toAbsolutePath());
+            }
+            return files;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read backend fixtures from " + folder.toAbsolutePath(), e);
+        }
+    }
+
+    public List<String> getMakes(String recallType) {
+
+        return new ArrayList<>(recalls.getOrDefault(recallType, Collections.emptyMap()).keySet());
+    }
+
+    public List<String> getModels(String recallType, String make) {
+
+        return new ArrayList<>(models(recallType, make).keySet());
+    }
+
+    public List<Map<String, Object>> getRecalls(String recallType, String make, String model) {
+
+        return models(recallType, make).getOrDefault(model, Collections.emptyList());
+    }
+
+    /**
+     * @return the recalls that may affect a vehicle made in the given year, chosen the same way as the backend does
+     */
+    public List<Map<String, Object>> getRecalls(String recallType, String make, String model, int year) {
+
+        return getRecalls(recallType, make, model).stream()
+                .filter(recall -> affectsYear(recall, year))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, List<Map<String, Object>>> models(String recallType, String make) {
+
+        return recalls.getOrDefault(recallType, Collections.emptyMap()).getOrDefault(make, Collections.emptyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    static boolean affectsYear(Map<String, Object> recall, int year) {
+
+        int launched = yearOf(recall.get("launchDate"));
+        List<Map<String, Object>> buildRanges = (List<Map<String, Object>>) recall.get("buildRange");
+        if (buildRanges == null || buildRanges.isEmpty()) {
+            return affectsYear(-1, -1, launched, year);
+        }
+        for (Map<String, Object> range : buildRanges) {
+            if (affectsYear(yearOf(range.get("start")), yearOf(range.get("end")), launched, year)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Without a build range only vehicles made up to the launch of the recall are affected
+    private static boolean affectsYear(int buildStart, int buildEnd, int launched, int year) {
+
+        if (buildStart < 0) {
+            return buildEnd < 0 ? launched >= 0 && launched >= year : buildEnd >= year;
+        }
+        return buildStart <= year && (buildEnd < 0 || buildEnd >= year);
+    }
+
+    // Dates are ISO 8601, as the data-update import stores them
+    private static int yearOf(Object date) {
+
+        String value = date == null ? "" : date.toString();
+        return value.matches("\\d{4}-.*") ? Integer.parseInt(value.substring(0, 4)) : -1;
+    }
+}
@@ -0,0 +1,179 @@
+package uk.gov.dvsa.recalls.backend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the routes of the recalls backend API that the frontend searches with from {@link BackendFixtures}, so the
+ * journeys can run against a local frontend without the backend, its database or live data:
+ * <pre>
+ * /recall-type/:type/make
+ * /recall-type/:type/make/:make/model
+ * /recall-type/:type/make/:make/model/:model/recalls
+ * /recall-type/:type/make/:make/model/:model/year/:year/recalls
+ * </pre>
+ * Each response is built once and kept, and every one is delayed by the same fixed latency, so the time the frontend
+ * takes can be measured apart from the backend's.
+ */
+public class StubBackend {
+
+    private static final byte[] NOT_FOUND = "{\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final BackendFixtures fixtures;
+    private final long latency;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * @param port    port to listen on, 0 for any free port
+     * @param latency milliseconds to wait before every response
+     */
+    public StubBackend(BackendFixtures fixtures, int port, long latency) throws IOException {
+
+        this.fixtures = fixtures;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        // A thread per request in flight, so the latency delays responses without limiting throughput
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-backend");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Runs the stand-in with the fixtures, port and latency set by test.backend.fixtures, test.backend.port and
+     * test.backend.latency until the JVM is stopped.
+     */
+    public static void main(String[] args) throws IOException {
+
+        StubBackend backend = new StubBackend(BackendFixtures.load(Configurator.getBackendFixtures()),
+                Configurator.getBackendPort(), Configurator.getBackendLatency());
+        Runtime.getRuntime().addShutdownHook(new Thread(backend::stop));
+        backend.start();
+        Logger.flush();
+    }
+
+    public void start() {
+
+        server.start();
+        Logger.info(String.format("Backend stand-in listening on %s with %d ms latency", getUrl(), latency));
+    }
+
+    public void stop() {
+
+        server.stop(0);
+        executor.shutdownNow();
+        Logger.info(String.format("Backend stand-in stopped after %d requests", requests.sum()));
+        Logger.flush();
+    }
+
+    /**
+     * @return the URL to give the frontend as RECALLS_BACKEND_URL
+     */
+    public String getUrl() {
+
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        requests.increment();
+        try {
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            byte[] body = "GET".equals(exchange.getRequestMethod())
+                    ? responses.computeIfAbsent(exchange.getRequestURI().getRawPath(), this::respond)
+                    : null;
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            if (body == null) {
+                exchange.sendResponseHeaders(404, NOT_FOUND.length);
+                body = NOT_FOUND;
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+            }
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the JSON response to a path, or null if it matches no route
+     */
+    private byte[] respond(String rawPath) {
+
+        List<String> path = segments(rawPath);
+        if (path.size() < 3 || !path.get(0).equals("recall-type") || !path.get(2).equals("make")) {
+            return null;
+        }
+
+        String type = path.get(1);
+        Object body = null;
+        if (path.size() == 3) {
+            body = fixtures.getMakes(type);
+        } else if (path.size() == 5 && path.get(4).equals("model")) {
+            body = fixtures.getModels(type, path.get(3));
+        } else if (path.size() == 7 && path.get(4).equals("model") && path.get(6).equals("recalls")) {
+            body = fixtures.getRecalls(type, path.get(3), path.get(5));
+        } else if (path.size() == 9 && path.get(4).equals("model") && path.get(6).equals("year")
+                && path.get(8).equals("recalls") && path.get(7).matches("\\d{1,4}")) {
+            body = fixtures.getRecalls(type, path.get(3), path.get(5), Integer.parseInt(path.get(7)));
+        }
+        return body == null ? null : new Json().toJson(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // The frontend encodes the recalls paths twice, and the backend decodes every parameter twice to match
+    private static List<String> segments(String rawPath) {
+
+        String[] segments = rawPath.replaceFirst("^/+", "").split("/");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = decode(decode(segments[i]));
+        }
+        return segments.length == 1 && segments[0].isEmpty() ? Collections.emptyList() : Arrays.asList(segments);
+    }
+
+    private static String decode(String segment) {
+
+        try {
+            // Unlike decodeURIComponent, URLDecoder would turn '+' into a space
+            return URLDecoder.decode(segment.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return segment;
+        }
+    }
+}
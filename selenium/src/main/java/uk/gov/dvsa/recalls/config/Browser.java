@@ -5,6 +5,7 @@ public enum Browser {
     IE,
     CHROME,
     SAFARI,
+    HTMLUNIT,
     IPAD,
     IPHONE,
     ANDROID
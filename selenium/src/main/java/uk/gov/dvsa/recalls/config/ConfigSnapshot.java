@@ -0,0 +1,367 @@
+package uk.gov.dvsa.recalls.config;
+
+import org.openqa.selenium.Platform;
+
+import uk.gov.dvsa.recalls.config.Configurator.SeleniumGrid;
+import uk.gov.dvsa.recalls.logging.Level;
+import uk.gov.dvsa.recalls.performance.BudgetMode;
+import uk.gov.dvsa.recalls.proxy.ProxyMode;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The test properties parsed and checked once, so every thread reads the same immutable values without re-parsing
+ * them. Every invalid value is reported together when the snapshot is built, before any browser is started.
+ */
+final class ConfigSnapshot {
+
+    final Map<String, String> properties;
+
+    final String baseUrl;
+    final Browser browser;
+    final String browserVersion;
+    final Platform platform;
+    final SeleniumGrid gridStatus;
+    final URL gridUrl;
+    final boolean javascriptEnabled;
+    final String chromeDriverPath;
+    final String os;
+    final String osVersion;
+    final String resolution;
+    final String device;
+    final String deviceOrientation;
+    final String buildNumber;
+
+    final boolean errorScreenshotEnabled;
+    final boolean errorScreenshotCompressed;
+    final boolean errorPageSourceEnabled;
+    final String errorScreenshotPath;
+    final DateTimeFormatter screenshotDateFormat = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    final int retryMaxAttempts;
+    final long retryInitialBackoff;
+    final long retryMaxBackoff;
+    final long retryDeadline;
+    final String testDurationsFile;
+    final int threadCount;
+    final int driverPoolSize;
+    final int driverPoolLeaseTimeout;
+    final int waitTimeout;
+    final long waitInitialPoll;
+    final long waitMaxPoll;
+    final long waitLookupTimeout;
+
+    final Level logLevel;
+    final int logBufferSize;
+    final String logFile;
+    final boolean commandMetricsEnabled;
+    final String metricsFolder;
+    final int httpMaxConnections;
+
+    final String loadEngine;
+    final int loadUsers;
+    final int loadDuration;
+    final int loadRampUp;
+    final String loadMake;
+    final String loadModel;
+    final String loadYear;
+
+    final String matrixFile;
+    final Charset matrixEncoding;
+    final int shardIndex;
+    final int shardCount;
+
+    final BudgetMode budgetMode;
+    final boolean leanBrowserEnabled;
+    final List<String> leanBlockedHosts;
+    final String pageLoadFile;
+
+    final ProxyMode proxyMode;
+    final int proxyPort;
+    final String proxyCacheFolder;
+    final long proxyCacheSize;
+
+    final int backendPort;
+    final String backendFixtures;
+    final long backendLatency;
+
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * @throws IllegalStateException listing every property that is missing or has an invalid value
+     */
+    ConfigSnapshot(Properties props, String buildNumber) {
+
+        Map<String, String> values = new TreeMap<>();
+        props.forEach((key, val) -> values.put(String.valueOf(key), String.valueOf(val).trim()));
+        this.properties = Collections.unmodifiableMap(values);
+
+        url("test.baseUrl", true);
+        baseUrl = string("test.baseUrl", "");
+        browser = browser();
+        browserVersion = string("test.browserVersion", null);
+        platform = platform();
+        gridStatus = gridStatus();
+        gridUrl = url("test.gridUrl", gridStatus != SeleniumGrid.NONE);
+        javascriptEnabled = yes("test.javascript.enabled", "no");
+        chromeDriverPath = string("test.chromeDriverPath", null);
+        os = string("test.os", null);
+        osVersion = string("test.osVersion", null);
+        resolution = string("test.resolution", null);
+        device = string("test.device", null);
+        deviceOrientation = string("test.deviceOrientation", null);
+        this.buildNumber = buildNumber != null ? buildNumber : "";
+
+        errorScreenshotEnabled = yes("test.screenshots.error.enabled", "no");
+        errorScreenshotCompressed = yes("test.screenshots.error.compress", "no");
+        errorPageSourceEnabled = yes("test.screenshots.error.pageSource", "no");
+        errorScreenshotPath = string("test.screenshots.error.folder", "/tmp/selenium-screenshots");
+
+        retryMaxAttempts = positiveInt("test.retry.maxAttempts", "5");
+        retryInitialBackoff = positiveLong("test.retry.initialBackoff", "50");
+        retryMaxBackoff = positiveLong("test.retry.maxBackoff", "1000");
+        retryDeadline = positiveLong("test.retry.deadline", "10000");
+        testDurationsFile = string("test.durations.file", ".test-durations.properties");
+        threadCount = positiveInt("test.threadCount", "1");
+        driverPoolSize = string("test.pool.size", "").isEmpty() ? threadCount : positiveInt("test.pool.size", null);
+        driverPoolLeaseTimeout = positiveInt("test.pool.leaseTimeout", "120");
+        waitTimeout = positiveInt("test.wait.timeout", "20");
+        waitInitialPoll = positiveLong("test.wait.initialPoll", "10");
+        waitMaxPoll = positiveLong("test.wait.maxPoll", "500");
+        waitLookupTimeout = number("test.wait.lookupTimeout", "5000", 0, Long.MAX_VALUE);
+
+        logLevel = logLevel();
+        logBufferSize = positiveInt("test.log.bufferSize", "500");
+        logFile = string("test.log.file", "");
+        commandMetricsEnabled = yes("test.metrics.commands.enabled", "no");
+        metricsFolder = string("test.metrics.folder", "build/reports/metrics");
+        httpMaxConnections = positiveInt("test.http.maxConnections", "20");
+
+        loadEngine = loadEngine();
+        loadUsers = positiveInt("test.load.users", "10");
+        loadDuration = positiveInt("test.load.duration", "60");
+        loadRampUp = nonNegativeInt("test.load.rampUp", "0");
+        loadMake = string("test.load.make", null);
+        loadModel = string("test.load.model", null);
+        loadYear = string("test.load.year", null);
+
+        matrixFile = string("test.matrix.file", "");
+        matrixEncoding = charset("test.matrix.encoding", "UTF-8");
+        shardIndex = nonNegativeInt("test.shard.index", "0");
+        shardCount = positiveInt("test.shard.count", "1");
+
+        budgetMode = budgetMode();
+        leanBrowserEnabled = yes("test.lean.enabled", "no");
+        leanBlockedHosts = list("test.lean.blockedHosts");
+        pageLoadFile = string("test.pageLoad.file", ".page-load-times.properties");
+
+        proxyMode = proxyMode();
+        proxyPort = nonNegativeInt("test.proxy.port", "0");
+        proxyCacheFolder = string("test.proxy.cacheFolder", ".proxy-cache");
+        proxyCacheSize = positiveLong("test.proxy.cacheSize", "500");
+
+        backendPort = nonNegativeInt("test.backend.port", "8090");
+        backendFixtures = string("test.backend.fixtures", "");
+        backendLatency = number("test.backend.latency", "0", 0, Long.MAX_VALUE);
+
+        if (waitInitialPoll > waitMaxPoll) {
+            errors.add("test.wait.initialPoll must not be greater than test.wait.maxPoll");
+        }
+        if (retryInitialBackoff > retryMaxBackoff) {
+            errors.add("test.retry.initialBackoff must not be greater than test.retry.maxBackoff");
+        }
+        if (shardIndex >= shardCount) {
+            errors.add("test.shard.index must be less than test.shard.count");
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid test configuration:\n  " + String.join("\n  ", errors));
+        }
+    }
+
+    private String string(String key, String defaultValue) {
+
+        String value = properties.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    private boolean yes(String key, String defaultValue) {
+
+        return "yes".equalsIgnoreCase(string(key, defaultValue));
+    }
+
+    private List<String> list(String key) {
+
+        List<String> values = new ArrayList<>();
+        for (String value : string(key, "").split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private int positiveInt(String key, String defaultValue) {
+
+        return (int) number(key, defaultValue, 1, Integer.MAX_VALUE);
+    }
+
+    private int nonNegativeInt(String key, String defaultValue) {
+
+        return (int) number(key, defaultValue, 0, Integer.MAX_VALUE);
+    }
+
+    private long positiveLong(String key, String defaultValue) {
+
+        return number(key, defaultValue, 1, Long.MAX_VALUE);
+    }
+
+    private long number(String key, String defaultValue, long min, long max) {
+
+        String value = string(key, defaultValue);
+        try {
+            long number = Long.parseLong(value);
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        errors.add(String.format("%s must be a whole number from %d, was '%s'", key, min, value));
+        return min;
+    }
+
+    private URL url(String key, boolean required) {
+
+        String value = string(key, "");
+        if (value.isEmpty() && !required) {
+            return null;
+        }
+        try {
+            return new URL(value);
+        } catch (MalformedURLException e) {
+            errors.add(String.format("%s must be a URL, was '%s'", key, value));
+            return null;
+        }
+    }
+
+    private Charset charset(String key, String defaultValue) {
+
+        String value = string(key, defaultValue);
+        try {
+            return Charset.forName(value);
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("%s must be a character set, was '%s'", key, value));
+            return null;
+        }
+    }
+
+    private Browser browser() {
+
+        String value = string("test.browserName", "");
+        try {
+            return Browser.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("test.browserName must be one of %s, was '%s'", names(Browser.values()), value));
+            return null;
+        }
+    }
+
+    private Platform platform() {
+
+        String value = string("test.platform", "");
+        switch (value.toLowerCase()) {
+            case "":
+                return null;
+            case "windows":
+                return Platform.WINDOWS;
+            case "android":
+                return Platform.ANDROID;
+            case "linux":
+                return Platform.LINUX;
+            case "mac":
+                return Platform.MAC;
+            default:
+                errors.add("test.platform must be windows, android, linux or mac, was '" + value + "'");
+                return null;
+        }
+    }
+
+    private SeleniumGrid gridStatus() {
+
+        String value = string("test.gridEnabled", "");
+        switch (value.toLowerCase()) {
+            case "":
+            case "false":
+            case "no":
+            case "none":
+                return SeleniumGrid.NONE;
+            case "selenium":
+                return SeleniumGrid.SELENIUM;
+            case "browserstack":
+                return SeleniumGrid.BROWSERSTACK;
+            default:
+                errors.add("test.gridEnabled must be false, selenium or browserstack, was '" + value + "'");
+                return SeleniumGrid.NONE;
+        }
+    }
+
+    private Level logLevel() {
+
+        String value = string("test.log.level", "INFO");
+        try {
+            return Level.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("test.log.level must be one of %s, was '%s'", names(Level.values()), value));
+            return Level.INFO;
+        }
+    }
+
+    private BudgetMode budgetMode() {
+
+        String value = string("test.budget.mode", "report");
+        try {
+            return BudgetMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("test.budget.mode must be one of %s, was '%s'", names(BudgetMode.values()), value));
+            return BudgetMode.REPORT;
+        }
+    }
+
+    private ProxyMode proxyMode() {
+
+        String value = string("test.proxy.mode", "off");
+        try {
+            return ProxyMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("test.proxy.mode must be one of %s, was '%s'", names(ProxyMode.values()), value));
+            return ProxyMode.OFF;
+        }
+    }
+
+    private String loadEngine() {
+
+        String value = string("test.load.engine", "http").toLowerCase();
+        if (!value.equals("http") && !value.equals("browser")) {
+            errors.add("test.load.engine must be http or browser, was '" + value + "'");
+        }
+        return value;
+    }
+
+    private static String names(Enum<?>[] values) {
+
+        List<String> names = new ArrayList<>();
+        for (Enum<?> value : values) {
+            names.add(value.name().toLowerCase());
+        }
+        return String.join(", ", names);
+    }
+}
@@ -2,42 +2,52 @@ package uk.gov.dvsa.recalls.config;
 
 import org.openqa.selenium.Platform;
 
+import uk.gov.dvsa.recalls.logging.Level;
+import uk.gov.dvsa.recalls.performance.BudgetMode;
+import uk.gov.dvsa.recalls.proxy.ProxyMode;
+
 import java.io.FileInputStream;
 import java.io.InputStream;
-import java.text.SimpleDateFormat;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
+/**
+ * Test configuration, read from the driver and environment properties files and the matching system properties. The
+ * values are parsed and validated once, when the class is loaded, into an immutable {@link ConfigSnapshot}, so a bad
+ * value fails the run straight away and every getter is a plain field read that is safe to share between threads.
+ */
 public abstract class Configurator {
 
     private static final String SELENIUM_DRIVER_PROPERTIES = "SELENIUM_DRIVER_PROPERTIES";
     private static final String SELENIUM_ENV_PROPERTIES = "SELENIUM_ENV_PROPERTIES";
     private static final String DEFAULT_SELENIUM_DRIVER_PROPERTIES_FILE_PATH = "/selenium/driver/default.properties";
     private static final String DEFAULT_SELENIUM_ENV_PROPERTIES_FILE_PATH = "/selenium/environment/default.properties";
-    private static final int defaultDriverTimeout = 20;
-
-    public static SimpleDateFormat screenshotDateFormat = new SimpleDateFormat("yyyyMMdd-HHmmss");
 
-    private static Properties props;
+    private static final ConfigSnapshot config;
 
     static {
-        props = new Properties();
-        loadEnvironmentPropertiesFromFile();
-        loadBrowserPropertiesFromFile();
-        overrideWithSystemProperties();
-        props.forEach((key, val) -> System.out.println("Key: " + key + ", Val: " + val));
+        Properties props = new Properties();
+        loadEnvironmentPropertiesFromFile(props);
+        loadBrowserPropertiesFromFile(props);
+        overrideWithSystemProperties(props);
+        config = new ConfigSnapshot(props, System.getenv("BUILD_NUMBER"));
     }
 
-    private static void loadEnvironmentPropertiesFromFile() {
+    private static void loadEnvironmentPropertiesFromFile(Properties props) {
 
-        loadPropertiesFromFile(DEFAULT_SELENIUM_ENV_PROPERTIES_FILE_PATH, SELENIUM_ENV_PROPERTIES);
+        loadPropertiesFromFile(props, DEFAULT_SELENIUM_ENV_PROPERTIES_FILE_PATH, SELENIUM_ENV_PROPERTIES);
     }
 
-    private static void loadBrowserPropertiesFromFile() {
+    private static void loadBrowserPropertiesFromFile(Properties props) {
 
-        loadPropertiesFromFile(DEFAULT_SELENIUM_DRIVER_PROPERTIES_FILE_PATH, SELENIUM_DRIVER_PROPERTIES);
+        loadPropertiesFromFile(props, DEFAULT_SELENIUM_DRIVER_PROPERTIES_FILE_PATH, SELENIUM_DRIVER_PROPERTIES);
     }
 
-    private static void overrideWithSystemProperties() {
+    private static void overrideWithSystemProperties(Properties props) {
 
         System.getProperties().forEach((key, val) -> {
             boolean valIsNotEmpty = val != null && !"".equals(((String) val).trim());
@@ -51,11 +61,13 @@ public abstract class Configurator {
      * Load properties from the properties file specified unless the envVariableOverride parameter is specified, in which case load the
      * properties from the file specified in the environment variable.
      *
+     * @param props                     Properties the file is loaded into
      * @param defaultPropertiesFilePath Properties file to be loaded
      * @param envVariableOverride       Specifies the environment variable name that contains a property file to be loaded in preference
      * @param ignoreNotFound            skips this resource if not found
      */
-    private static void loadPropertiesFromFile(String defaultPropertiesFilePath, String envVariableOverride, boolean ignoreNotFound) {
+    private static void loadPropertiesFromFile(Properties props, String defaultPropertiesFilePath, String envVariableOverride,
+            boolean ignoreNotFound) {
 
         String customPropertiesFilePath = System.getenv(envVariableOverride);
         boolean useCustomProperties =
@@ -83,9 +95,10 @@ public abstract class Configurator {
         }
     }
 
-    private static void loadPropertiesFromFile(String defaultPropertiesFilePath, String envVariableOverride) {
+    private static void loadPropertiesFromFile(Properties props, String defaultPropertiesFilePath,
+            String envVariableOverride) {
 
-        loadPropertiesFromFile(defaultPropertiesFilePath, envVariableOverride, false);
+        loadPropertiesFromFile(props, defaultPropertiesFilePath, envVariableOverride, false);
     }
 
     /**
@@ -108,69 +121,325 @@ public abstract class Configurator {
      */
     protected static String getProp(String key, String defaultValue) {
 
-        String value = props.getProperty(key, defaultValue);
-        return (value != null) ? value.trim() : null;
+        return config.properties.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @return every property in effect, sorted by name
+     */
+    public static Map<String, String> getProperties() {
+
+        return config.properties;
     }
 
     public static String baseUrl() {
 
-        return getProp("test.baseUrl");
+        return config.baseUrl;
     }
 
     public static boolean isErrorScreenshotEnabled() {
 
-        return "yes".equalsIgnoreCase(getProp("test.screenshots.error.enabled"));
+        return config.errorScreenshotEnabled;
+    }
+
+    public static boolean isErrorScreenshotCompressed() {
+
+        return config.errorScreenshotCompressed;
+    }
+
+    public static boolean isErrorPageSourceEnabled() {
+
+        return config.errorPageSourceEnabled;
     }
 
-    public static SimpleDateFormat getScreenshotDateFormat() {
-        return screenshotDateFormat;
+    public static DateTimeFormatter getScreenshotDateFormat() {
+
+        return config.screenshotDateFormat;
     }
 
     public static String getErrorScreenshotPath() {
 
-        String errorFolder = System.getProperty("test.screenshots.error.folder");
-        return errorFolder != null
-                ? errorFolder
-                : getProp("test.screenshots.error.folder", "/tmp/selenium-screenshots");
+        return config.errorScreenshotPath;
+    }
+
+    public static int getRetryMaxAttempts() {
+
+        return config.retryMaxAttempts;
+    }
+
+    public static long getRetryInitialBackoff() {
+
+        return config.retryInitialBackoff;
+    }
+
+    public static long getRetryMaxBackoff() {
+
+        return config.retryMaxBackoff;
+    }
+
+    public static long getRetryDeadline() {
+
+        return config.retryDeadline;
+    }
+
+    public static String getTestDurationsFile() {
+
+        return config.testDurationsFile;
     }
 
     public static String getBuildNumber() {
 
-        String buildNumber = System.getenv("BUILD_NUMBER");
+        return config.buildNumber;
+    }
+
+    public static int getThreadCount() {
 
-        return buildNumber != null ? buildNumber : "";
+        return config.threadCount;
     }
 
-    public String getChromeDriverPath() {
+    /**
+     * @return number of pooled browsers, one per test thread unless set explicitly
+     */
+    public static int getDriverPoolSize() {
 
-        return getProp("test.chromeDriverPath");
+        return config.driverPoolSize;
     }
 
-    public SeleniumGrid getGridStatus() {
+    public static int getDriverPoolLeaseTimeout() {
 
-        switch (getProp("test.gridEnabled")) {
-            case "selenium":
-                return SeleniumGrid.SELENIUM;
-            case "browserstack":
-                return SeleniumGrid.BROWSERSTACK;
-            default:
-                return SeleniumGrid.NONE;
-        }
+        return config.driverPoolLeaseTimeout;
+    }
+
+    /**
+     * @return seconds to wait for a condition before failing
+     */
+    public static int getWaitTimeout() {
+
+        return config.waitTimeout;
+    }
+
+    public static long getWaitInitialPoll() {
+
+        return config.waitInitialPoll;
+    }
+
+    public static long getWaitMaxPoll() {
+
+        return config.waitMaxPoll;
+    }
+
+    /**
+     * @return milliseconds a lookup gives a missing element to appear, 0 to fail straight away
+     */
+    public static long getWaitLookupTimeout() {
+
+        return config.waitLookupTimeout;
+    }
+
+    public static Level getLogLevel() {
+
+        return config.logLevel;
+    }
+
+    /**
+     * @return number of recent log events kept per test, to report if it fails
+     */
+    public static int getLogBufferSize() {
+
+        return config.logBufferSize;
+    }
+
+    public static String getLogFile() {
+
+        return config.logFile;
+    }
+
+    public static boolean isCommandMetricsEnabled() {
+
+        return config.commandMetricsEnabled;
+    }
+
+    public static String getMetricsFolder() {
+
+        return config.metricsFolder;
+    }
+
+    /**
+     * @return size of the connection pool shared by the HTTP clients that browse the site without a browser
+     */
+    public static int getHttpMaxConnections() {
+
+        return config.httpMaxConnections;
+    }
+
+    public static String getLoadEngine() {
+
+        return config.loadEngine;
+    }
+
+    public static int getLoadUsers() {
+
+        return config.loadUsers;
+    }
+
+    public static int getLoadDuration() {
+
+        return config.loadDuration;
+    }
+
+    public static int getLoadRampUp() {
+
+        return config.loadRampUp;
     }
 
-    public String getGridUrl() {
+    public static String getLoadMake() {
 
-        return getProp("test.gridUrl");
+        return config.loadMake;
     }
 
-    public int getDefaultDriverTimeout() {
+    public static String getLoadModel() {
 
-        return defaultDriverTimeout;
+        return config.loadModel;
+    }
+
+    public static String getLoadYear() {
+
+        return config.loadYear;
+    }
+
+    /**
+     * @return recalls CSV the search matrix is read from, or empty if the matrix is not run
+     */
+    public static String getMatrixFile() {
+
+        return config.matrixFile;
+    }
+
+    public static Charset getMatrixEncoding() {
+
+        return config.matrixEncoding;
+    }
+
+    /**
+     * @return zero-based index of the shard this JVM runs
+     */
+    public static int getShardIndex() {
+
+        return config.shardIndex;
+    }
+
+    public static int getShardCount() {
+
+        return config.shardCount;
+    }
+
+    /**
+     * @return whether page performance budgets are checked, and if breaching them fails the test
+     */
+    public static BudgetMode getBudgetMode() {
+
+        return config.budgetMode;
+    }
+
+    /**
+     * @return whether test classes without a {@link uk.gov.dvsa.recalls.config.webdriver.LeanBrowser} annotation run in
+     * a lean browser
+     */
+    public static boolean isLeanBrowserEnabled() {
+
+        return config.leanBrowserEnabled;
+    }
+
+    public static List<String> getLeanBlockedHosts() {
+
+        return config.leanBlockedHosts;
+    }
+
+    public static String getPageLoadFile() {
+
+        return config.pageLoadFile;
+    }
+
+    public static ProxyMode getProxyMode() {
+
+        return config.proxyMode;
+    }
+
+    /**
+     * @return port the record and replay proxy listens on, 0 for any free port
+     */
+    public static int getProxyPort() {
+
+        return config.proxyPort;
+    }
+
+    public static String getProxyCacheFolder() {
+
+        return config.proxyCacheFolder;
+    }
+
+    /**
+     * @return megabytes of responses the record and replay proxy keeps
+     */
+    public static long getProxyCacheSize() {
+
+        return config.proxyCacheSize;
+    }
+
+    /**
+     * @return port the backend stand-in listens on, 0 for any free port
+     */
+    public static int getBackendPort() {
+
+        return config.backendPort;
+    }
+
+    /**
+     * @return folder of the backend stand-in's fixture files, one per recall type, or empty for the default fixtures on
+     * the classpath
+     */
+    public static String getBackendFixtures() {
+
+        return config.backendFixtures;
+    }
+
+    /**
+     * @return milliseconds the backend stand-in waits before every response
+     */
+    public static long getBackendLatency() {
+
+        return config.backendLatency;
+    }
+
+    /**
+     * @return whether the browser this configures is a lean one
+     */
+    public boolean isLeanBrowser() {
+
+        return config.leanBrowserEnabled;
+    }
+
+    public String getChromeDriverPath() {
+
+        return config.chromeDriverPath;
+    }
+
+    public SeleniumGrid getGridStatus() {
+
+        return config.gridStatus;
+    }
+
+    /**
+     * @return the grid hub, or null when the tests run on a local browser
+     */
+    public URL getGridUrl() {
+
+        return config.gridUrl;
     }
 
     public boolean getJavascriptStatus() {
 
-        return "yes".equalsIgnoreCase(getProp("test.javascript.enabled"));
+        return config.javascriptEnabled;
     }
 
     /**
@@ -180,70 +449,42 @@ public abstract class Configurator {
      */
     public Platform getPlatform() {
 
-        switch (getProp("test.platform")) {
-            case "windows":
-                return Platform.WINDOWS;
-            case "android":
-                return Platform.ANDROID;
-            case "linux":
-                return Platform.LINUX;
-            case "mac":
-                return Platform.MAC;
-            default:
-                return null;
-        }
+        return config.platform;
     }
 
     public String getOs() {
 
-        return getProp("test.os");
+        return config.os;
     }
 
     public String getOsVersion() {
 
-        return getProp("test.osVersion");
+        return config.osVersion;
     }
 
     public Browser getBrowser() {
 
-        switch (String.valueOf(getProp("test.browserName")).toLowerCase()) {
-            case "firefox":
-                return Browser.FIREFOX;
-            case "chrome":
-                return Browser.CHROME;
-            case "safari":
-                return Browser.SAFARI;
-            case "ie":
-                return Browser.IE;
-            case "ipad":
-                return Browser.IPAD;
-            case "iphone":
-                return Browser.IPHONE;
-            case "android":
-                return Browser.ANDROID;
-            default:
-                return null;
-        }
+        return config.browser;
     }
 
     public String getBrowserVersion() {
 
-        return getProp("test.browserVersion");
+        return config.browserVersion;
     }
 
     public String getResolution() {
 
-        return getProp("test.resolution");
+        return config.resolution;
     }
 
     public String getDevice() {
 
-        return getProp("test.device");
+        return config.device;
     }
 
     public String getDeviceOrientation() {
 
-        return getProp("test.deviceOrientation");
+        return config.deviceOrientation;
     }
 
     public enum SeleniumGrid {
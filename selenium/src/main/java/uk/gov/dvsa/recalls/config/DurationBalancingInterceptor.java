@@ -0,0 +1,36 @@
+package uk.gov.dvsa.recalls.config;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders tests longest first, by their duration in previous runs, so the worker threads pick up the slow journeys
+ * before the quick ones and finish at roughly the same time. Tests without history are treated as the longest.
+ */
+public class DurationBalancingInterceptor implements IMethodInterceptor {
+
+    public static String testName(ITestNGMethod method) {
+
+        return method.getTestClass().getName() + "." + method.getMethodName();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong(this::expectedDuration).reversed());
+        return ordered;
+    }
+
+    private long expectedDuration(IMethodInstance method) {
+
+        long duration = TestDurationHistory.getDuration(testName(method.getMethod()));
+        return duration < 0 ? Long.MAX_VALUE : duration;
+    }
+}
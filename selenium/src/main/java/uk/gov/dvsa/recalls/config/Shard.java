@@ -0,0 +1,51 @@
+package uk.gov.dvsa.recalls.config;
+
+/**
+ * The part of a test matrix this JVM runs, when the matrix is split between several JVMs or machines. Each item goes
+ * to a shard by a hash of its key, so every shard makes the same choice without coordinating with the others, and a
+ * given item always lands on the same shard.
+ */
+public class Shard {
+
+    private final int index;
+    private final int count;
+
+    public Shard(int index, int count) {
+
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException(String.format("Shard %d of %d does not exist", index, count));
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * @return the shard set by test.shard.index and test.shard.count
+     */
+    public static Shard current() {
+
+        return new Shard(Configurator.getShardIndex(), Configurator.getShardCount());
+    }
+
+    public boolean owns(String key) {
+
+        // String.hashCode is fixed by the language spec, so it is the same in every JVM
+        return Math.floorMod(key.hashCode(), count) == index;
+    }
+
+    public int getIndex() {
+
+        return index;
+    }
+
+    public int getCount() {
+
+        return count;
+    }
+
+    @Override
+    public String toString() {
+
+        return (index + 1) + " of " + count;
+    }
+}
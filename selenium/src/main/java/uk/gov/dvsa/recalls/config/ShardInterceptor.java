@@ -0,0 +1,54 @@
+package uk.gov.dvsa.recalls.config;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps only the tests this JVM's shard owns, so the suite can be split between several machines with
+ * test.shard.index and test.shard.count. Each test goes to a shard by a hash of its class and method name.
+ * Tests marked {@link ShardedByData} run on every shard, as their data providers split the rows between the shards.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+
+    private final Shard shard;
+
+    public ShardInterceptor() {
+
+        this(Shard.current());
+    }
+
+    ShardInterceptor(Shard shard) {
+
+        this.shard = shard;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+
+        if (shard.getCount() == 1) {
+            return methods;
+        }
+
+        List<IMethodInstance> owned = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            ITestNGMethod testMethod = method.getMethod();
+            if (isShardedByData(testMethod) || shard.owns(DurationBalancingInterceptor.testName(testMethod))) {
+                owned.add(method);
+            }
+        }
+        Logger.info(String.format("Shard %s runs %d of %d tests", shard, owned.size(), methods.size()));
+        return owned;
+    }
+
+    private static boolean isShardedByData(ITestNGMethod method) {
+
+        return method.getConstructorOrMethod().getMethod().isAnnotationPresent(ShardedByData.class);
+    }
+}
@@ -0,0 +1,15 @@
+package uk.gov.dvsa.recalls.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a data-driven test whose data provider splits its rows between the shards itself, with {@link Shard}, so the
+ * test runs on every shard instead of being given to one of them.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ShardedByData {
+}
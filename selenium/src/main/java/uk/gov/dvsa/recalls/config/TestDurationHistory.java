@@ -0,0 +1,69 @@
+package uk.gov.dvsa.recalls.config;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations of previous test runs, used to schedule the longest tests first.
+ */
+public class TestDurationHistory {
+
+    private static final Map<String, Long> durations = load();
+
+    /**
+     * @param testName fully qualified method name of the test
+     * @return duration of the last recorded run in milliseconds, or -1 if the test has not been run before
+     */
+    public static long getDuration(String testName) {
+
+        return durations.getOrDefault(testName, -1L);
+    }
+
+    public static void record(String testName, long millis) {
+
+        durations.put(testName, millis);
+    }
+
+    public static void save() {
+
+        File file = new File(Configurator.getTestDurationsFile());
+        Properties props = new Properties();
+        durations.forEach((testName, millis) -> props.setProperty(testName, String.valueOf(millis)));
+
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                props.store(out, "Test durations in milliseconds");
+            }
+        } catch (Exception ex) {
+            Logger.error("Unable to save test durations to " + file.getAbsolutePath(), ex);
+        }
+    }
+
+    private static Map<String, Long> load() {
+
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        File file = new File(Configurator.getTestDurationsFile());
+
+        if (file.exists()) {
+            Properties props = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                props.load(in);
+                props.forEach((testName, millis) -> loaded.put((String) testName, Long.parseLong((String) millis)));
+            } catch (Exception ex) {
+                Logger.error("Ignoring unreadable test durations file " + file.getAbsolutePath(), ex);
+            }
+        }
+        return loaded;
+    }
+}
@@ -1,12 +1,25 @@
 package uk.gov.dvsa.recalls.config;
 
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.TestListenerAdapter;
 
+import uk.gov.dvsa.recalls.WebDriverPool;
+import uk.gov.dvsa.recalls.config.webdriver.DriverServices;
+import uk.gov.dvsa.recalls.elements.LocatorCacheStatistics;
+import uk.gov.dvsa.recalls.elements.RelocationStatistics;
 import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.metrics.CommandMetrics;
+import uk.gov.dvsa.recalls.performance.PageLoadHistory;
+import uk.gov.dvsa.recalls.performance.PerformanceBudgets;
+import uk.gov.dvsa.recalls.proxy.RecordReplayProxy;
+import uk.gov.dvsa.recalls.screenshots.ScreenshotWriter;
+import uk.gov.dvsa.recalls.waits.WaitStatistics;
 
-public class TestExecutionListener extends TestListenerAdapter implements ITestListener {
+public class TestExecutionListener extends TestListenerAdapter implements ITestListener, ISuiteListener {
 
     // Keep these the same length for easier-to-read output
     private static final String RUNNING = "Running:             ";
@@ -18,6 +31,7 @@ public class TestExecutionListener extends TestListenerAdapter implements ITestL
     public void onTestStart(ITestResult result) {
 
         super.onTestStart(result);
+        Logger.startTest(printable(result));
         Logger.info(RUNNING + printable(result));
     }
 
@@ -25,14 +39,22 @@ public class TestExecutionListener extends TestListenerAdapter implements ITestL
     public void onTestSuccess(ITestResult result) {
 
         super.onTestSuccess(result);
+        recordDuration(result);
         Logger.info(String.format(SUCCESS, duration(result)) + printable(result));
+        CommandMetrics.leavePage();
+        Logger.endTest(false);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
 
         super.onTestFailure(result);
+        recordDuration(result);
         Logger.info(String.format(FAILURE, duration(result)) + printable(result));
+        // Attach the test's log to its entry in the report
+        Reporter.setCurrentTestResult(result);
+        CommandMetrics.leavePage();
+        Logger.endTest(true);
     }
 
     @Override
@@ -40,6 +62,8 @@ public class TestExecutionListener extends TestListenerAdapter implements ITestL
 
         super.onTestSkipped(result);
         Logger.info(String.format(SKIPPED, duration(result)) + printable(result));
+        CommandMetrics.leavePage();
+        Logger.endTest(false);
     }
 
     @Override
@@ -47,6 +71,41 @@ public class TestExecutionListener extends TestListenerAdapter implements ITestL
 
         super.onTestFailedButWithinSuccessPercentage(result);
         Logger.info("Failure within success %: " + printable(result));
+        CommandMetrics.leavePage();
+        Logger.endTest(false);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+
+        Configurator.getProperties().forEach((key, val) -> Logger.debug("Key: " + key + ", Val: " + val));
+        // Rows of a parallel data provider, such as the search matrix, share the test threads' browsers
+        suite.getXmlSuite().setDataProviderThreadCount(Configurator.getThreadCount());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+
+        ScreenshotWriter.getInstance().flush();
+        TestDurationHistory.save();
+        PageLoadHistory.save();
+        Logger.info(LocatorCacheStatistics.summary());
+        Logger.info(RelocationStatistics.summary());
+        Logger.info(WaitStatistics.summary());
+        Logger.info(PerformanceBudgets.summary());
+        Logger.info(PageLoadHistory.summary());
+        Logger.info(RecordReplayProxy.summary());
+        CommandMetrics.writeReport();
+        // Browsers first, so none is left without its driver service
+        WebDriverPool.shutdownAll();
+        DriverServices.stopAll();
+        Logger.flush();
+    }
+
+    private void recordDuration(ITestResult result) {
+
+        TestDurationHistory.record(DurationBalancingInterceptor.testName(result.getMethod()),
+                result.getEndMillis() - result.getStartMillis());
     }
 
     private String printable(ITestResult result) {
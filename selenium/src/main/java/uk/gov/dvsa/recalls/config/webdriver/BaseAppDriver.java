@@ -1,21 +1,55 @@
 package uk.gov.dvsa.recalls.config.webdriver;
 
-import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.OutputType;
-import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.elements.ElementSnapshot;
 import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.performance.PageTiming;
+import uk.gov.dvsa.recalls.screenshots.ScreenshotWriter;
+import uk.gov.dvsa.recalls.waits.Waiter;
 
-import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public abstract class BaseAppDriver implements AppDriver {
 
-    protected RemoteWebDriver remoteWebDriver;
+    // Reads attributes the way WebElement.getAttribute does: the property when there is one, the attribute otherwise
+    private static final String READ_ELEMENTS_SCRIPT =
+            "var names = arguments[1];"
+                    + "return Array.prototype.map.call(arguments[0], function (element) {"
+                    + "  var attributes = {};"
+                    + "  names.forEach(function (name) {"
+                    + "    var value = element[name];"
+                    + "    attributes[name] = (value === undefined || value === null || typeof value === 'object')"
+                    + "        ? element.getAttribute(name) : String(value);"
+                    + "  });"
+                    + "  var text = element.innerText === undefined ? element.textContent : element.innerText;"
+                    + "  return {text: (text || '').trim(), attributes: attributes};"
+                    + "});";
+
+    private final WebDriver webDriver;
+    private final AtomicLong navigations = new AtomicLong();
     private String baseUrl = "";
+    private volatile Future<?> pendingScreenShot;
 
-    public BaseAppDriver(RemoteWebDriver remoteWebDriver) {
+    public BaseAppDriver(WebDriver webDriver) {
 
-        this.remoteWebDriver = remoteWebDriver;
+        this.webDriver = webDriver;
     }
 
     public void setBaseUrl(String baseUrl) {
@@ -25,28 +59,206 @@ public abstract class BaseAppDriver implements AppDriver {
 
     public void navigateToPath(String path) {
 
-        remoteWebDriver.get((baseUrl + path).replaceAll("(?<!(http:|https:))//", "/"));
+        get((baseUrl + path).replaceAll("(?<!(http:|https:))//", "/"));
     }
 
-    public String getPageSource() {
+    @Override
+    public void get(String url) {
 
-        return this.remoteWebDriver.getPageSource();
+        navigations.incrementAndGet();
+        webDriver.get(url);
     }
 
-    public void takeScreenShot(String destinationPath) {
+    @Override
+    public Navigation navigate() {
+
+        Navigation navigation = webDriver.navigate();
+        return new Navigation() {
+            @Override
+            public void back() {
+
+                navigations.incrementAndGet();
+                navigation.back();
+            }
+
+            @Override
+            public void forward() {
+
+                navigations.incrementAndGet();
+                navigation.forward();
+            }
+
+            @Override
+            public void to(String url) {
+
+                navigations.incrementAndGet();
+                navigation.to(url);
+            }
+
+            @Override
+            public void to(URL url) {
+
+                navigations.incrementAndGet();
+                navigation.to(url);
+            }
+
+            @Override
+            public void refresh() {
+
+                navigations.incrementAndGet();
+                navigation.refresh();
+            }
+        };
+    }
+
+    /**
+     * Finds an element, giving it up to {@code test.wait.lookupTimeout} ms to appear, so reading something a click or
+     * submit brings up, such as a validation message, does not fail before the page has updated. An element that is
+     * already there is returned by the first lookup, without polling.
+     *
+     * @throws NoSuchElementException if the element has still not appeared
+     */
+    protected WebElement lookUp(By by) {
+
+        try {
+            return webDriver.findElement(by);
+        } catch (NoSuchElementException e) {
+            if (Configurator.getWaitLookupTimeout() == 0) {
+                throw e;
+            }
+        }
+
+        try {
+            return new Waiter(webDriver, Configurator.getWaitLookupTimeout(), Configurator.getWaitInitialPoll(),
+                    Configurator.getWaitMaxPoll()).until("element lookup", driver -> driver.findElement(by));
+        } catch (TimeoutException e) {
+            // one last look, which throws the driver's own NoSuchElementException
+            return webDriver.findElement(by);
+        }
+    }
+
+    /**
+     * @return number of navigations made through this driver, and of interactions that may have navigated, used to
+     * tell when cached elements belong to an old page
+     */
+    public long getNavigationCount() {
+
+        return navigations.get();
+    }
+
+    /**
+     * Counts a click, a submit or an Enter key, which may have loaded a new page without a navigation through the
+     * driver, as a navigation.
+     */
+    public void interactionMayHaveNavigated() {
+
+        navigations.incrementAndGet();
+    }
+
+    /**
+     * Reads the text and the given attributes of every element in a single script call, instead of one round trip
+     * per element and value. Falls back to reading the elements one by one if the script cannot run.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ElementSnapshot> readElements(List<WebElement> elements, String... attributeNames) {
 
+        if (elements.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Map<String, Object>> results;
         try {
-            File scrFile = remoteWebDriver.getScreenshotAs(OutputType.FILE);
-            File screenshotFile = new File(destinationPath);
+            results = (List<Map<String, Object>>) executeScript(READ_ELEMENTS_SCRIPT, elements, attributeNames);
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            return readElementsOneByOne(elements, attributeNames);
+        }
+
+        List<ElementSnapshot> snapshots = new ArrayList<>(results.size());
+        for (Map<String, Object> result : results) {
+            Map<String, String> attributes = new HashMap<>();
+            ((Map<String, Object>) result.get("attributes"))
+                    .forEach((name, value) -> attributes.put(name, value == null ? null : value.toString()));
+            snapshots.add(new ElementSnapshot((String) result.get("text"), attributes));
+        }
+        return snapshots;
+    }
+
+    private List<ElementSnapshot> readElementsOneByOne(List<WebElement> elements, String... attributeNames) {
 
-            if (!screenshotFile.exists()) {
-                FileUtils.copyFile(scrFile, screenshotFile);
-                Logger.info("PageUrl: " + remoteWebDriver.getCurrentUrl());
-                Logger.info("Screenshot saved to: " + screenshotFile.getAbsolutePath());
+        List<ElementSnapshot> snapshots = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            Map<String, String> attributes = new HashMap<>();
+            for (String name : attributeNames) {
+                attributes.put(name, element.getAttribute(name));
             }
+            snapshots.add(new ElementSnapshot(element.getText(), attributes));
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return the Navigation and Resource Timing of the current page, read with one script call, or null if the
+     * browser cannot provide them
+     */
+    @SuppressWarnings("unchecked")
+    public PageTiming readPageTiming() {
+
+        try {
+            Object timing = executeScript(PageTiming.SCRIPT);
+            return timing instanceof Map ? new PageTiming((Map<String, Object>) timing) : null;
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // HtmlUnit with JavaScript disabled refuses scripts with an UnsupportedOperationException
+            return null;
+        }
+    }
+
+    public String getPageSource() {
+
+        return this.webDriver.getPageSource();
+    }
+
+    /**
+     * Captures the screenshot, and leaves reading the page source, if enabled, and writing them to the background
+     * {@link ScreenshotWriter}. Call {@link #awaitScreenShot()} before the browser leaves the page.
+     */
+    public void takeScreenShot(String destinationPath) {
+
+        try {
+            byte[] screenshot = captureScreenshot();
+            Supplier<String> pageSource =
+                    screenshot == null || Configurator.isErrorPageSourceEnabled() ? this::getPageSource : null;
+            Logger.info("PageUrl: " + webDriver.getCurrentUrl());
+            pendingScreenShot = ScreenshotWriter.getInstance().write(destinationPath, screenshot, pageSource);
         } catch (Exception e) {
             Logger.error("Error trying to take screen shot: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Blocks until the page source of the last screenshot has been read, so the browser can be reset or quit.
+     */
+    public void awaitScreenShot() {
+
+        Future<?> pending = pendingScreenShot;
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.error("Error trying to save screen shot: " + e.getMessage(), e);
+        }
+        pendingScreenShot = null;
+    }
+
+    /**
+     * @return PNG bytes of the current page, or null if the browser cannot take screenshots
+     */
+    protected byte[] captureScreenshot() {
+
+        return getScreenshotAs(OutputType.BYTES);
+    }
+
 }
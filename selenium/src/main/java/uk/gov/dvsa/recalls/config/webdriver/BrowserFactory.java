@@ -2,10 +2,25 @@ package uk.gov.dvsa.recalls.config.webdriver;
 
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import uk.gov.dvsa.recalls.config.Configurator;
+
 public class BrowserFactory {
 
     public static BaseAppDriver createDriver(RemoteWebDriver remoteWebDriver) {
 
-        return new RemoteAppWebDriver(remoteWebDriver);
+        return createDriver(remoteWebDriver, () -> { }, () -> { });
+    }
+
+    /**
+     * @param afterQuit       run once the session has quit
+     * @param afterFailedQuit run instead if quitting the session failed
+     */
+    public static BaseAppDriver createDriver(RemoteWebDriver remoteWebDriver, Runnable afterQuit,
+            Runnable afterFailedQuit) {
+
+        if (Configurator.isCommandMetricsEnabled()) {
+            InstrumentedCommandExecutor.instrument(remoteWebDriver);
+        }
+        return new RemoteAppWebDriver(remoteWebDriver, afterQuit, afterFailedQuit);
     }
 }
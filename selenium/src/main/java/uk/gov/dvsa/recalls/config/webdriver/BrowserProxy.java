@@ -0,0 +1,65 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.proxy.RecordReplayProxy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the http requests of local browsers through the {@link RecordReplayProxy} when it is on. Browsers on a grid
+ * cannot reach it, so they always connect to the site directly.
+ */
+public class BrowserProxy {
+
+    /**
+     * Firefox takes its routes from one proxy auto-config script, so a lean profile's blocked hosts go in it too.
+     */
+    public static void apply(FirefoxProfile profile, boolean lean) {
+
+        RecordReplayProxy proxy = RecordReplayProxy.getInstance();
+        if (proxy == null) {
+            return;
+        }
+        profile.setPreference("network.proxy.type", 2);
+        profile.setPreference("network.proxy.autoconfig_url", pacScript(
+                lean ? Configurator.getLeanBlockedHosts() : Collections.emptyList(), proxy.getAddress()));
+        // Otherwise Firefox never proxies localhost
+        profile.setPreference("network.proxy.allow_hijacking_localhost", true);
+    }
+
+    public static void apply(ChromeOptions options) {
+
+        RecordReplayProxy proxy = RecordReplayProxy.getInstance();
+        if (proxy != null) {
+            options.addArguments("--proxy-server=http=" + proxy.getAddress(), "--proxy-bypass-list=<-loopback>");
+        }
+    }
+
+    public static void apply(HtmlUnitDriver driver) {
+
+        RecordReplayProxy proxy = RecordReplayProxy.getInstance();
+        if (proxy != null) {
+            String[] address = proxy.getAddress().split(":");
+            driver.setHTTPProxy(address[0], Integer.parseInt(address[1]), Collections.emptyList());
+        }
+    }
+
+    /**
+     * @param blockedHosts hosts sent to a proxy that is not there, so their requests fail straight away
+     * @param httpProxy    host:port every other http request goes through, or null to connect directly
+     */
+    static String pacScript(List<String> blockedHosts, String httpProxy) {
+
+        String hosts = blockedHosts.stream().map(host -> "'" + host + "'").collect(Collectors.joining(","));
+        return "data:text/plain,function FindProxyForURL(url, host) {"
+                + " if ([" + hosts + "].indexOf(host) >= 0) { return 'PROXY 127.0.0.1:9'; }"
+                + (httpProxy == null ? "" : " if (url.substring(0, 5) === 'http:') { return 'PROXY " + httpProxy + "'; }")
+                + " return 'DIRECT'; }";
+    }
+}
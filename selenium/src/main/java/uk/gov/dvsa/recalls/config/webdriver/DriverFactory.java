@@ -1,22 +1,21 @@
 package uk.gov.dvsa.recalls.config.webdriver;
 
+import com.gargoylesoftware.htmlunit.BrowserVersion;
 import org.openqa.selenium.Platform;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxProfile;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.ie.InternetExplorerDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
-import org.testng.Assert;
 
 import uk.gov.dvsa.recalls.config.Configurator;
 import uk.gov.dvsa.recalls.logging.Logger;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-
 public class DriverFactory {
 
     /**
@@ -40,9 +39,7 @@ public class DriverFactory {
         switch (configurator.getBrowser()) {
             case FIREFOX: {
                 capability = DesiredCapabilities.firefox();
-                FirefoxProfile profile = new FirefoxProfile();
-                profile.setPreference("network.http.prompt-temp-redirect", false);
-                profile.setPreference("javascript.enabled", javascriptEnabled);
+                FirefoxProfile profile = FirefoxProfiles.get(configurator, true);
 
                 FirefoxOptions options = new FirefoxOptions();
                 options.setProfile(profile);
@@ -52,16 +49,20 @@ public class DriverFactory {
                 Logger.info("Javascript is enabled: " + String
                         .valueOf(capability.isJavascriptEnabled()));
                 capability.setCapability(FirefoxDriver.PROFILE, profile);
-                System.setProperty("webdriver.gecko.driver", "src/main/resources/selenium/driver/geckodriver");
-                driver = BrowserFactory.createDriver(new FirefoxDriver(options));
+                driver = createFirefoxDriver(options);
                 break;
             }
             case CHROME: {
-                System.setProperty("webdriver.chrome.driver", configurator.getChromeDriverPath());
-
                 capability = DesiredCapabilities.chrome();
                 capability.setJavascriptEnabled(javascriptEnabled);
-                driver = BrowserFactory.createDriver(new ChromeDriver(capability));
+                ChromeOptions options = new ChromeOptions().merge(capability);
+                if (configurator.isLeanBrowser()) {
+                    LeanProfile.apply(options);
+                }
+                BrowserProxy.apply(options);
+                // A RemoteWebDriver leaves the shared chromedriver running when it quits; a ChromeDriver would stop it
+                driver = BrowserFactory.createDriver(new RemoteWebDriver(
+                        DriverServices.getChromeDriver(configurator.getChromeDriverPath()).getUrl(), options));
                 break;
             }
             case SAFARI: {
@@ -70,6 +71,13 @@ public class DriverFactory {
                 driver = BrowserFactory.createDriver(new SafariDriver(capability));
                 break;
             }
+            case HTMLUNIT: {
+                HtmlUnitDriver htmlUnitDriver = new HtmlUnitDriver(BrowserVersion.FIREFOX_60, javascriptEnabled);
+                BrowserProxy.apply(htmlUnitDriver);
+                Logger.info("Javascript is enabled: " + String.valueOf(htmlUnitDriver.isJavascriptEnabled()));
+                driver = new HtmlUnitAppDriver(htmlUnitDriver);
+                break;
+            }
             default: {
                 driver = BrowserFactory.createDriver(new FirefoxDriver());
                 break;
@@ -79,6 +87,20 @@ public class DriverFactory {
         return driver;
     }
 
+    private static BaseAppDriver createFirefoxDriver(FirefoxOptions options) {
+
+        GeckoDriverService geckoDriver = DriverServices.leaseGeckoDriver();
+        try {
+            return BrowserFactory.createDriver(new RemoteWebDriver(geckoDriver.getUrl(), options),
+                    () -> DriverServices.releaseGeckoDriver(geckoDriver),
+                    () -> DriverServices.discardGeckoDriver(geckoDriver));
+        } catch (RuntimeException e) {
+            // the session may have been created before the failure, so the geckodriver cannot be trusted to be free
+            DriverServices.discardGeckoDriver(geckoDriver);
+            throw e;
+        }
+    }
+
     /**
      * Fetches an instance of the web driver as configured in the Configurator
      *
@@ -128,15 +150,17 @@ public class DriverFactory {
             // Special configuration for some browsers
             switch (configurator.getBrowser()) {
                 case FIREFOX: {
-                    FirefoxProfile profile = new FirefoxProfile();
-                    profile.setPreference("network.http.prompt-temp-redirect", false);
-                    profile.setPreference("javascript.enabled", configurator.getJavascriptStatus());
-                    capability.setCapability(FirefoxDriver.PROFILE, profile);
+                    capability.setCapability(FirefoxDriver.PROFILE, FirefoxProfiles.get(configurator, false));
                     break;
                 }
                 case CHROME: {
                     System.setProperty("webdriver.chrome.driver",
                             configurator.getChromeDriverPath());
+                    if (configurator.isLeanBrowser()) {
+                        ChromeOptions options = new ChromeOptions();
+                        LeanProfile.apply(options);
+                        capability.setCapability(ChromeOptions.CAPABILITY, options);
+                    }
                     break;
                 }
                 case IE: {
@@ -150,12 +174,7 @@ public class DriverFactory {
         }
 
         //Create the RemoteWebDriver object
-        try {
-            return new RemoteAppWebDriver(new RemoteWebDriver(new URL(configurator.getGridUrl()), capability));
-        } catch (MalformedURLException e) {
-            Assert.fail("Error in config. Check hub URL is correct." + e.toString());
-            return null;
-        }
+        return BrowserFactory.createDriver(new RemoteWebDriver(configurator.getGridUrl(), capability));
     }
 
     /**
@@ -180,10 +199,7 @@ public class DriverFactory {
             case FIREFOX: {
                 capability = DesiredCapabilities.firefox();
 
-                FirefoxProfile profile = new FirefoxProfile();
-                profile.setPreference("network.http.prompt-temp-redirect", false);
-                profile.setPreference("javascript.enabled", javascriptEnabled);
-                capability.setCapability(FirefoxDriver.PROFILE, profile);
+                capability.setCapability(FirefoxDriver.PROFILE, FirefoxProfiles.get(configurator, false));
                 capability.setVersion(browserVersion);
                 capability.setPlatform(platform);
 
@@ -197,6 +213,11 @@ public class DriverFactory {
                 capability.setVersion(browserVersion);
                 capability.setPlatform(platform);
                 capability.setJavascriptEnabled(javascriptEnabled);
+                if (configurator.isLeanBrowser()) {
+                    ChromeOptions options = new ChromeOptions();
+                    LeanProfile.apply(options);
+                    capability.setCapability(ChromeOptions.CAPABILITY, options);
+                }
                 Logger.info("Javascript is enabled: " + String.valueOf(javascriptEnabled));
                 break;
             }
@@ -229,14 +250,6 @@ public class DriverFactory {
         }
 
         //Create the RemoteWebDriver object
-        try {
-            return new RemoteAppWebDriver(new RemoteWebDriver(new URL(configurator.getGridUrl()), capability));
-        } catch (MalformedURLException e) {
-            Assert.fail("Unable to create Remote WebDriver. Check Grid hub URL is correct." + e
-                    .toString());
-        }
-
-        //Return null on exception
-        return null;
+        return BrowserFactory.createDriver(new RemoteWebDriver(configurator.getGridUrl(), capability));
     }
 }
@@ -0,0 +1,100 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.remote.service.DriverService;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Driver services that run a single session at a time, leased to one session and handed back when it quits. A
+ * service is only leased again if the health check shows it running with no session left open; any other is stopped
+ * and a new one started in its place.
+ */
+class DriverServicePool<T extends DriverService> {
+
+    private final Supplier<T> factory;
+    private final Predicate<T> isIdle;
+    private final Set<T> started = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<T> idle = new LinkedBlockingQueue<>();
+
+    /**
+     * @param factory builds a service that has not been started
+     * @param isIdle  whether a service is running and has no session
+     */
+    DriverServicePool(Supplier<T> factory, Predicate<T> isIdle) {
+
+        this.factory = factory;
+        this.isIdle = isIdle;
+    }
+
+    /**
+     * @return a running service with no session, for the caller's use until it releases or discards it
+     */
+    T lease() {
+
+        T service;
+        while ((service = idle.poll()) != null) {
+            if (isIdle.test(service)) {
+                return service;
+            }
+            discard(service);
+        }
+        service = start(factory.get());
+        started.add(service);
+        return service;
+    }
+
+    /**
+     * Makes a service whose session has quit available to the next lease.
+     */
+    void release(T service) {
+
+        if (started.contains(service) && isIdle.test(service)) {
+            idle.offer(service);
+        } else {
+            discard(service);
+        }
+    }
+
+    /**
+     * Stops a service whose session may still be open, such as when quitting it failed.
+     */
+    void discard(T service) {
+
+        idle.remove(service);
+        started.remove(service);
+        service.stop();
+    }
+
+    /**
+     * @return number of services stopped
+     */
+    int stopAll() {
+
+        int count = started.size();
+        started.forEach(DriverService::stop);
+        started.clear();
+        idle.clear();
+        return count;
+    }
+
+    static <S extends DriverService> S start(S service) {
+
+        long startTime = System.currentTimeMillis();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start driver service " + service.getUrl(), e);
+        }
+        Logger.info(String.format("Started driver service at %s in %d ms", service.getUrl(),
+                System.currentTimeMillis() - startTime));
+        return service;
+    }
+}
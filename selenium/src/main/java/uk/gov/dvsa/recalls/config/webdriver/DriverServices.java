@@ -0,0 +1,132 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.remote.service.DriverService;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver service processes shared between the sessions of local browsers, instead of a new one started, and left to
+ * start up, for every session. Chromedriver runs any number of sessions, so every Chrome session shares one.
+ * Geckodriver runs a single session at a time, so each Firefox session leases a geckodriver and hands it back when it
+ * has quit, for the next session to reuse. A geckodriver is only reused if its status shows no session still open,
+ * and one whose session failed to quit is stopped. A service found not running is replaced; all of them are stopped
+ * by {@link #stopAll()} at the end of the suite, or when the JVM exits.
+ */
+public class DriverServices {
+
+    static final String GECKO_DRIVER_PATH = "src/main/resources/selenium/driver/geckodriver";
+
+    private static final DriverServicePool<GeckoDriverService> geckoDrivers = new DriverServicePool<>(
+            () -> new GeckoDriverService.Builder()
+                    .usingDriverExecutable(new File(GECKO_DRIVER_PATH))
+                    .usingAnyFreePort()
+                    .build(),
+            DriverServices::hasNoSession);
+    private static final AtomicLong sessions = new AtomicLong();
+    private static ChromeDriverService chromeDriver;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverServices::stopAll));
+    }
+
+    /**
+     * @return the running chromedriver shared by every Chrome session
+     */
+    public static synchronized ChromeDriverService getChromeDriver(String driverPath) {
+
+        sessions.incrementAndGet();
+        if (chromeDriver == null || !chromeDriver.isRunning()) {
+            if (chromeDriver != null) {
+                chromeDriver.stop();
+            }
+            chromeDriver = DriverServicePool.start(new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(driverPath))
+                    .usingAnyFreePort()
+                    .build());
+        }
+        return chromeDriver;
+    }
+
+    /**
+     * @return a running geckodriver with no session, for the caller's use until it hands it back
+     */
+    public static GeckoDriverService leaseGeckoDriver() {
+
+        sessions.incrementAndGet();
+        return geckoDrivers.lease();
+    }
+
+    /**
+     * Makes a geckodriver whose session has quit available to the next Firefox session.
+     */
+    public static void releaseGeckoDriver(GeckoDriverService geckoDriver) {
+
+        geckoDrivers.release(geckoDriver);
+    }
+
+    /**
+     * Stops a geckodriver whose session may still be open, because creating or quitting the session failed.
+     */
+    public static void discardGeckoDriver(GeckoDriverService geckoDriver) {
+
+        geckoDrivers.discard(geckoDriver);
+    }
+
+    /**
+     * Stops every driver service. Browsers still open lose their connection, so quit them first.
+     */
+    public static synchronized void stopAll() {
+
+        int count = geckoDrivers.stopAll();
+        if (chromeDriver != null) {
+            chromeDriver.stop();
+            chromeDriver = null;
+            count++;
+        }
+        if (count > 0) {
+            Logger.info(String.format("Stopped %d driver services after %d sessions", count, sessions.get()));
+        }
+    }
+
+    /**
+     * @return whether the service is running and its status says it is ready for a new session, which a driver
+     * running one session at a time is not while that session is open
+     */
+    static boolean hasNoSession(DriverService service) {
+
+        if (!service.isRunning()) {
+            return false;
+        }
+        try {
+            HttpURLConnection connection =
+                    (HttpURLConnection) new URL(service.getUrl(), "/status").openConnection(Proxy.NO_PROXY);
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(2000);
+            try (JsonInput input = new Json().newInput(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                Map<String, Object> status = input.read(Json.MAP_TYPE);
+                Object value = status.get("value");
+                return value instanceof Map && Boolean.TRUE.equals(((Map<?, ?>) value).get("ready"));
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException | JsonException e) {
+            return false;
+        }
+    }
+}
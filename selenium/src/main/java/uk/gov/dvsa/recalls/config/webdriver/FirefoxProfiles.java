@@ -0,0 +1,108 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Firefox profiles built once per suite and shared by every session that needs the same settings. Selenium sends a
+ * profile with each new session as a zipped, base64 encoded copy of it, written out to a temporary folder first; a
+ * shared profile does that the first time and sends the same copy from then on, which saves most on a grid, where
+ * it is uploaded for every session.
+ */
+public class FirefoxProfiles {
+
+    private static final Map<String, FirefoxProfile> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param local whether the browser runs on this machine, and so can use the record and replay proxy
+     * @return the profile for the configured browser; it cannot be changed
+     */
+    public static FirefoxProfile get(Configurator configurator, boolean local) {
+
+        boolean lean = configurator.isLeanBrowser();
+        String name = (lean ? "lean" : "full") + (local ? " local" : " remote");
+        return templates.computeIfAbsent(name, key -> build(configurator, lean, local, name));
+    }
+
+    private static FirefoxProfile build(Configurator configurator, boolean lean, boolean local, String name) {
+
+        long start = System.nanoTime();
+        Template profile = new Template();
+        profile.setPreference("network.http.prompt-temp-redirect", false);
+        profile.setPreference("javascript.enabled", configurator.getJavascriptStatus());
+        if (lean) {
+            LeanProfile.apply(profile);
+        }
+        if (local) {
+            BrowserProxy.apply(profile, lean);
+        }
+
+        try {
+            int size = profile.toJson().length();
+            Logger.info(String.format("Built %s Firefox profile in %d ms, %d KB encoded", name,
+                    (System.nanoTime() - start) / 1_000_000, size / 1024));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode the " + name + " Firefox profile", e);
+        }
+        return profile;
+    }
+
+    /**
+     * Encodes itself once, and refuses changes after that so every session gets the same settings.
+     */
+    private static class Template extends FirefoxProfile {
+
+        private String json;
+
+        @Override
+        public synchronized String toJson() throws IOException {
+
+            if (json == null) {
+                json = super.toJson();
+            }
+            return json;
+        }
+
+        @Override
+        public synchronized void setPreference(String key, String value) {
+
+            checkNotEncoded();
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public synchronized void setPreference(String key, boolean value) {
+
+            checkNotEncoded();
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public synchronized void setPreference(String key, int value) {
+
+            checkNotEncoded();
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public synchronized void addExtension(File extensionToInstall) {
+
+            checkNotEncoded();
+            super.addExtension(extensionToInstall);
+        }
+
+        private void checkNotEncoded() {
+
+            if (json != null) {
+                throw new IllegalStateException("A shared Firefox profile cannot be changed");
+            }
+        }
+    }
+}
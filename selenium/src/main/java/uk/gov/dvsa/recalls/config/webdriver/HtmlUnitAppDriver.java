@@ -0,0 +1,236 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.interactions.Keyboard;
+import org.openqa.selenium.interactions.Mouse;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the pages inside the JVM, without a browser binary or driver service. HtmlUnit does not render pages, so it
+ * suits journeys that only check text and form flow.
+ */
+public class HtmlUnitAppDriver extends BaseAppDriver {
+
+    private final HtmlUnitDriver htmlUnitDriver;
+
+    public HtmlUnitAppDriver(HtmlUnitDriver htmlUnitDriver) {
+
+        super(htmlUnitDriver);
+        this.htmlUnitDriver = htmlUnitDriver;
+    }
+
+    @Override
+    public WebElement findElementByClassName(String s) {
+
+        return htmlUnitDriver.findElementByClassName(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName(String s) {
+
+        return htmlUnitDriver.findElementsByClassName(s);
+    }
+
+    @Override
+    public WebElement findElementByCssSelector(String s) {
+
+        return htmlUnitDriver.findElementByCssSelector(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector(String s) {
+
+        return htmlUnitDriver.findElementsByCssSelector(s);
+    }
+
+    @Override
+    public WebElement findElementById(String s) {
+
+        return htmlUnitDriver.findElementById(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsById(String s) {
+
+        return htmlUnitDriver.findElementsById(s);
+    }
+
+    @Override
+    public WebElement findElementByLinkText(String s) {
+
+        return htmlUnitDriver.findElementByLinkText(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText(String s) {
+
+        return htmlUnitDriver.findElementsByLinkText(s);
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText(String s) {
+
+        return htmlUnitDriver.findElementByPartialLinkText(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText(String s) {
+
+        return htmlUnitDriver.findElementsByPartialLinkText(s);
+    }
+
+    @Override
+    public WebElement findElementByName(String s) {
+
+        return htmlUnitDriver.findElementByName(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByName(String s) {
+
+        return htmlUnitDriver.findElementsByName(s);
+    }
+
+    @Override
+    public WebElement findElementByTagName(String s) {
+
+        return htmlUnitDriver.findElementByTagName(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName(String s) {
+
+        return htmlUnitDriver.findElementsByTagName(s);
+    }
+
+    @Override
+    public WebElement findElementByXPath(String s) {
+
+        return htmlUnitDriver.findElementByXPath(s);
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath(String s) {
+
+        return htmlUnitDriver.findElementsByXPath(s);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+
+        return htmlUnitDriver.getCapabilities();
+    }
+
+    @Override
+    public Keyboard getKeyboard() {
+
+        return htmlUnitDriver.getKeyboard();
+    }
+
+    @Override
+    public Mouse getMouse() {
+
+        return htmlUnitDriver.getMouse();
+    }
+
+    @Override
+    public Object executeScript(String s, Object... objects) {
+
+        return htmlUnitDriver.executeScript(s, objects);
+    }
+
+    @Override
+    public Object executeAsyncScript(String s, Object... objects) {
+
+        return htmlUnitDriver.executeAsyncScript(s, objects);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> outputType) throws WebDriverException {
+
+        throw new UnsupportedCommandException("HtmlUnit does not render pages, so it cannot take screenshots");
+    }
+
+    /**
+     * Nothing is rendered, so failures are recorded with the page source only.
+     */
+    @Override
+    protected byte[] captureScreenshot() {
+
+        return null;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+
+        return htmlUnitDriver.getCurrentUrl();
+    }
+
+    @Override
+    public String getTitle() {
+
+        return htmlUnitDriver.getTitle();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+
+        return htmlUnitDriver.findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+
+        return lookUp(by);
+    }
+
+    @Override
+    public String getPageSource() {
+
+        return htmlUnitDriver.getPageSource();
+    }
+
+    @Override
+    public void close() {
+
+        htmlUnitDriver.close();
+    }
+
+    @Override
+    public void quit() {
+
+        htmlUnitDriver.quit();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+
+        return htmlUnitDriver.getWindowHandles();
+    }
+
+    @Override
+    public String getWindowHandle() {
+
+        return htmlUnitDriver.getWindowHandle();
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+
+        return htmlUnitDriver.switchTo();
+    }
+
+    @Override
+    public Options manage() {
+
+        return htmlUnitDriver.manage();
+    }
+}
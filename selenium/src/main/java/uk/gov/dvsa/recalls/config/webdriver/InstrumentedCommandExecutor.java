@@ -0,0 +1,56 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import uk.gov.dvsa.recalls.metrics.CommandMetrics;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Times every command a driver sends to the browser and hands the latency to {@link CommandMetrics}.
+ */
+public class InstrumentedCommandExecutor implements CommandExecutor {
+
+    private final CommandExecutor delegate;
+
+    public InstrumentedCommandExecutor(CommandExecutor delegate) {
+
+        this.delegate = delegate;
+    }
+
+    /**
+     * Swaps the executor of an already started driver for an instrumented one. Local drivers create their executor
+     * internally, so it can only be replaced through the protected setter.
+     */
+    public static void instrument(RemoteWebDriver driver) {
+
+        if (driver.getCommandExecutor() instanceof InstrumentedCommandExecutor) {
+            return;
+        }
+
+        try {
+            Method setter = RemoteWebDriver.class.getDeclaredMethod("setCommandExecutor", CommandExecutor.class);
+            setter.setAccessible(true);
+            setter.invoke(driver, new InstrumentedCommandExecutor(driver.getCommandExecutor()));
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new WebDriverException("Unable to instrument the driver's command executor", e);
+        }
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException {
+
+        long start = System.nanoTime();
+        try {
+            return delegate.execute(command);
+        } finally {
+            CommandMetrics.record(command.getName(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated test class in a lean browser, or with {@code @LeanBrowser(false)} in a full one, whatever
+ * test.lean.enabled says for the rest of the suite. See {@link LeanProfile}.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface LeanBrowser {
+    boolean value() default true;
+}
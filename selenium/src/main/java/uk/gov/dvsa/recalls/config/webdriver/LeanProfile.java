@@ -0,0 +1,63 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Browser settings for journeys that check text and form flow rather than how pages look: images and web fonts are
+ * not loaded, requests to test.lean.blockedHosts, such as analytics, never leave the browser, and background
+ * downloads and prefetching are turned off.
+ */
+public class LeanProfile {
+
+    public static void apply(FirefoxProfile profile) {
+
+        profile.setPreference("permissions.default.image", 2);
+        profile.setPreference("gfx.downloadable_fonts.enabled", false);
+        profile.setPreference("browser.display.use_document_fonts", 0);
+        profile.setPreference("browser.cache.offline.enable", false);
+        profile.setPreference("network.prefetch-next", false);
+        profile.setPreference("network.dns.disablePrefetch", true);
+        profile.setPreference("network.http.speculative-parallel-limit", 0);
+        profile.setPreference("browser.safebrowsing.malware.enabled", false);
+        profile.setPreference("browser.safebrowsing.phishing.enabled", false);
+
+        List<String> blockedHosts = Configurator.getLeanBlockedHosts();
+        if (!blockedHosts.isEmpty()) {
+            // Firefox has no host block list, so blocked hosts are sent to a proxy that is not there
+            profile.setPreference("network.proxy.type", 2);
+            profile.setPreference("network.proxy.autoconfig_url", BrowserProxy.pacScript(blockedHosts, null));
+        }
+    }
+
+    /**
+     * Chrome cannot be told not to download web fonts without DevTools, which this version of Selenium does not
+     * reach, so they are only blocked when they come from one of the blocked hosts.
+     */
+    public static void apply(ChromeOptions options) {
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+        options.addArguments("--blink-settings=imagesEnabled=false",
+                "--dns-prefetch-disable",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync");
+
+        List<String> blockedHosts = Configurator.getLeanBlockedHosts();
+        if (!blockedHosts.isEmpty()) {
+            options.addArguments("--host-resolver-rules=" + blockedHosts.stream()
+                    .map(host -> "MAP " + host + " ~NOTFOUND")
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+}
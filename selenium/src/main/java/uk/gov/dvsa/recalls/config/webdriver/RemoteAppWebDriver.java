@@ -10,17 +10,36 @@ import org.openqa.selenium.interactions.Keyboard;
 import org.openqa.selenium.interactions.Mouse;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.UnreachableBrowserException;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Hands every call straight to the wrapped driver. Each FindsBy method uses the driver's own lookup for that strategy,
+ * which the W3C protocol codec turns into a native browser lookup, so callers never need the generic findElement(By)
+ * path to work around a missing one.
+ */
 public class RemoteAppWebDriver extends BaseAppDriver {
 
+    private final RemoteWebDriver remoteWebDriver;
+    private final Runnable afterQuit;
+    private final Runnable afterFailedQuit;
+
     public RemoteAppWebDriver(final RemoteWebDriver remoteWebDriver) {
 
+        this(remoteWebDriver, () -> { }, () -> { });
+    }
+
+    /**
+     * @param afterQuit       run once the session has quit, such as to hand back the driver service it used
+     * @param afterFailedQuit run instead if quitting failed, when the session may still be open
+     */
+    public RemoteAppWebDriver(final RemoteWebDriver remoteWebDriver, Runnable afterQuit, Runnable afterFailedQuit) {
+
         super(remoteWebDriver);
+        this.remoteWebDriver = remoteWebDriver;
+        this.afterQuit = afterQuit;
+        this.afterFailedQuit = afterFailedQuit;
     }
 
     @Override
@@ -44,31 +63,31 @@ public class RemoteAppWebDriver extends BaseAppDriver {
     @Override
     public List<WebElement> findElementsByCssSelector(String s) {
 
-        return null;
+        return remoteWebDriver.findElementsByCssSelector(s);
     }
 
     @Override
     public WebElement findElementById(String s) {
 
-        return null;
+        return remoteWebDriver.findElementById(s);
     }
 
     @Override
     public List<WebElement> findElementsById(String s) {
 
-        return null;
+        return remoteWebDriver.findElementsById(s);
     }
 
     @Override
     public WebElement findElementByLinkText(String s) {
 
-        return null;
+        return remoteWebDriver.findElementByLinkText(s);
     }
 
     @Override
     public List<WebElement> findElementsByLinkText(String s) {
 
-        return null;
+        return remoteWebDriver.findElementsByLinkText(s);
     }
 
     @Override
@@ -92,7 +111,7 @@ public class RemoteAppWebDriver extends BaseAppDriver {
     @Override
     public List<WebElement> findElementsByName(String s) {
 
-        return remoteWebDriver.findElementsByTagName(s);
+        return remoteWebDriver.findElementsByName(s);
     }
 
     @Override
@@ -110,7 +129,7 @@ public class RemoteAppWebDriver extends BaseAppDriver {
     @Override
     public WebElement findElementByXPath(String s) {
 
-        return null;
+        return remoteWebDriver.findElementByXPath(s);
     }
 
     @Override
@@ -155,12 +174,6 @@ public class RemoteAppWebDriver extends BaseAppDriver {
         return remoteWebDriver.getScreenshotAs(outputType);
     }
 
-    @Override
-    public void get(String s) {
-
-        remoteWebDriver.get(s);
-    }
-
     @Override
     public String getCurrentUrl() {
 
@@ -182,8 +195,7 @@ public class RemoteAppWebDriver extends BaseAppDriver {
     @Override
     public WebElement findElement(By by) {
 
-        new WebDriverWait(remoteWebDriver, 10).until(ExpectedConditions.presenceOfElementLocated(by));
-        return remoteWebDriver.findElement(by);
+        return lookUp(by);
     }
 
     @Override
@@ -201,12 +213,16 @@ public class RemoteAppWebDriver extends BaseAppDriver {
     @Override
     public void quit() {
 
+        boolean quit = false;
         try {
             remoteWebDriver.quit();
+            quit = true;
         } catch (UnreachableBrowserException e) {
             //There is no sense propagating the exception, the browser is already dead if an exception happens
             //It stops Jenkins printing stack trace all over the place
             //We can simply log a warning if necessary
+        } finally {
+            (quit ? afterQuit : afterFailedQuit).run();
         }
     }
 
@@ -228,12 +244,6 @@ public class RemoteAppWebDriver extends BaseAppDriver {
         return remoteWebDriver.switchTo();
     }
 
-    @Override
-    public WebDriver.Navigation navigate() {
-
-        return remoteWebDriver.navigate();
-    }
-
     @Override
     public WebDriver.Options manage() {
 
@@ -14,9 +14,12 @@ import java.util.Set;
 
 public class SafariAppDriver extends BaseAppDriver {
 
+    private final SafariDriver remoteWebDriver;
+
     public SafariAppDriver(SafariDriver safariDriver) {
 
         super(safariDriver);
+        this.remoteWebDriver = safariDriver;
     }
 
     @Override
@@ -151,12 +154,6 @@ public class SafariAppDriver extends BaseAppDriver {
         return remoteWebDriver.getScreenshotAs(outputType);
     }
 
-    @Override
-    public void get(String s) {
-
-        remoteWebDriver.get(s);
-    }
-
     @Override
     public String getCurrentUrl() {
 
@@ -178,7 +175,7 @@ public class SafariAppDriver extends BaseAppDriver {
     @Override
     public WebElement findElement(By by) {
 
-        return remoteWebDriver.findElement(by);
+        return lookUp(by);
     }
 
     @Override
@@ -217,12 +214,6 @@ public class SafariAppDriver extends BaseAppDriver {
         return remoteWebDriver.switchTo();
     }
 
-    @Override
-    public Navigation navigate() {
-
-        return remoteWebDriver.navigate();
-    }
-
     @Override
     public Options manage() {
 
@@ -0,0 +1,235 @@
+package uk.gov.dvsa.recalls.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the recalls CSV published by DVSA, in the layout the data-update lambda imports, into the searches that
+ * should find each recall. Rows sharing a make, model and year become a single search expecting all their recalls.
+ *
+ * Only recalls the import would store are expected. Like the import, rows without a make, model, remedy or recall
+ * number are skipped, rows with the same make, model and recall number are one recall, and a recall failing any of
+ * the checks of common's RecallValidator is left out as a whole.
+ */
+public class RecallCsv {
+
+    // Recall number prefixes of vehicle recalls, as in the data-update import; the rest are equipment
+    private static final List<String> VEHICLE_TYPES = Arrays.asList("R", "RM", "RCT", "RPT", "RSPV", "RPC");
+
+    // Recall number prefixes RecallValidator accepts
+    private static final List<String> PRODUCT_GROUPS =
+            Arrays.asList("R", "RM", "RCOMP", "RCT", "RPT", "RSPV", "RTW", "RPC");
+
+    private static final Pattern DATE = Pattern.compile("(\\d+)/(\\d+)/(\\d+)");
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private RecallCsv(List<String> header) {
+
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+    }
+
+    public static List<RecallSearch> read(Path file, Charset charset) {
+
+        try (BufferedReader reader = Files.newBufferedReader(file, charset)) {
+            return read(reader);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read recalls CSV " + file, e);
+        }
+    }
+
+    /**
+     * @return the searches, sorted by key so every run and every shard sees them in the same order
+     */
+    public static List<RecallSearch> read(Reader reader) throws IOException {
+
+        List<List<String>> rows = parse(reader);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        RecallCsv csv = new RecallCsv(rows.get(0));
+        Map<String, List<List<String>>> recalls = new LinkedHashMap<>();
+        for (List<String> row : rows.subList(1, rows.size())) {
+            if (csv.hasRequiredFields(row)) {
+                String key = csv.get(row, "Make") + "-" + csv.get(row, "Model") + "-" + csv.get(row, "Recalls Number");
+                recalls.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<String, RecallSearch> searches = new TreeMap<>();
+        for (List<List<String>> recallRows : recalls.values()) {
+            if (!csv.isValid(recallRows)) {
+                continue;
+            }
+            // The import keeps the fields of the last row of a recall, and the build ranges of all of them
+            String title = csv.get(recallRows.get(recallRows.size() - 1), "Concern");
+            for (List<String> row : recallRows) {
+                RecallSearch search = csv.toSearch(row);
+                if (search != null) {
+                    searches.computeIfAbsent(search.getKey(), key -> search).addRecallTitle(title);
+                }
+            }
+        }
+        return new ArrayList<>(searches.values());
+    }
+
+    private boolean hasRequiredFields(List<String> row) {
+
+        return !get(row, "Recalls Number").isEmpty() && !get(row, "Make").isEmpty() && !get(row, "Model").isEmpty()
+                && !get(row, "Remedy").isEmpty();
+    }
+
+    /**
+     * The checks RecallValidator.isValid makes before the import stores a recall.
+     */
+    private boolean isValid(List<List<String>> recallRows) {
+
+        List<String> row = recallRows.get(recallRows.size() - 1);
+        LocalDate launchDate = dateOf(get(row, "Launch Date"));
+        if (launchDate == null || launchDate.isAfter(LocalDate.now())) {
+            return false;
+        }
+        if (!isRecallNumberValid(get(row, "Recalls Number"))
+                || !get(row, "Vehicle Numbers").matches("[+-]?\\d.*")
+                || get(row, "Concern").isEmpty() || get(row, "Defect").isEmpty()) {
+            return false;
+        }
+
+        for (List<String> buildRow : recallRows) {
+            String buildStart = get(buildRow, "Build Start");
+            String buildEnd = get(buildRow, "Build End");
+            LocalDate start = dateOf(buildStart);
+            LocalDate end = dateOf(buildEnd);
+            if (!buildStart.isEmpty() && (start == null || start.isAfter(launchDate))) {
+                return false;
+            }
+            if (!buildEnd.isEmpty() && (end == null || start != null && end.isBefore(start))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // <product group>/<year>/<number>, with a known product group and a year that is not in the future
+    private static boolean isRecallNumberValid(String recallNumber) {
+
+        String[] parts = recallNumber.split("/");
+        if (parts.length < 3 || parts[0].isEmpty() || parts[2].isEmpty() || !parts[1].matches("\\d+")) {
+            return false;
+        }
+        int year = Integer.parseInt(parts[1]) + (parts[1].length() == 2 ? 1900 : 0);
+        return PRODUCT_GROUPS.contains(parts[0]) && year <= LocalDate.now().getYear();
+    }
+
+    private RecallSearch toSearch(List<String> row) {
+
+        String recallNumber = get(row, "Recalls Number");
+        String make = get(row, "Make");
+        String model = get(row, "Model");
+
+        if (!VEHICLE_TYPES.contains(recallNumber.split("/")[0])) {
+            return new RecallSearch(RecallSearch.EQUIPMENT, make, model, null);
+        }
+        LocalDate date = dateOf(get(row, "Build Start"));
+        if (date == null) {
+            date = dateOf(get(row, "Build End"));
+        }
+        if (date == null) {
+            date = dateOf(get(row, "Launch Date"));
+        }
+        return date == null
+                ? null
+                : new RecallSearch(RecallSearch.VEHICLE, make, model, String.valueOf(date.getYear()));
+    }
+
+    /**
+     * Dates are dd/mm/yyyy, or dd/mm/yy as common's DateParser also accepts.
+     *
+     * @return the date, or null if it is empty or invalid
+     */
+    private static LocalDate dateOf(String date) {
+
+        Matcher matcher = DATE.matcher(date);
+        if (!matcher.find() || matcher.group(3).length() != 2 && matcher.group(3).length() != 4) {
+            return null;
+        }
+        int year = Integer.parseInt(matcher.group(3));
+        if (matcher.group(3).length() == 2) {
+            year += year < 50 ? 2000 : 1900;
+        }
+        try {
+            return LocalDate.of(year, Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(1)));
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String get(List<String> row, String column) {
+
+        Integer index = columns.get(column);
+        if (index == null) {
+            throw new IllegalStateException("Recalls CSV has no '" + column + "' column");
+        }
+        return index < row.size() ? row.get(index).trim() : "";
+    }
+
+    // RFC 4180: quoted fields may hold commas, line breaks and doubled quotes
+    private static List<List<String>> parse(Reader reader) throws IOException {
+
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.dvsa.recalls.data;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One search a user can make on the site, with the titles of the recalls it should find.
+ */
+public class RecallSearch {
+
+    public static final String VEHICLE = "vehicle";
+    public static final String EQUIPMENT = "equipment";
+
+    private final String recallType;
+    private final String make;
+    private final String model;
+    private final String year;
+    private final Set<String> recallTitles = new TreeSet<>();
+
+    RecallSearch(String recallType, String make, String model, String year) {
+
+        this.recallType = recallType;
+        this.make = make;
+        this.model = model;
+        this.year = year;
+    }
+
+    void addRecallTitle(String title) {
+
+        recallTitles.add(title);
+    }
+
+    public String getRecallType() {
+
+        return recallType;
+    }
+
+    public String getMake() {
+
+        return make;
+    }
+
+    public String getModel() {
+
+        return model;
+    }
+
+    /**
+     * @return year of manufacture searched for, or null for equipment which is searched without one
+     */
+    public String getYear() {
+
+        return year;
+    }
+
+    public Set<String> getRecallTitles() {
+
+        return Collections.unmodifiableSet(recallTitles);
+    }
+
+    /**
+     * @return the header the results page shows for this search
+     */
+    public String getExpectedHeader() {
+
+        return year == null ? make + " " + model : make + " " + model + " " + year;
+    }
+
+    /**
+     * @return identifies the search, and decides which shard runs it
+     */
+    public String getKey() {
+
+        return recallType + "|" + make + "|" + model + "|" + (year == null ? "" : year);
+    }
+
+    @Override
+    public String toString() {
+
+        return recallType + " " + getExpectedHeader();
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.dvsa.recalls.elements;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries a bounded number of times, sleeping for an exponentially growing, jittered interval between attempts and
+ * giving up once the deadline for the whole call has passed.
+ */
+public class BackoffRetryPolicy implements RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long deadlineMillis;
+
+    public BackoffRetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, long deadlineMillis) {
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public <T> T call(String description, Supplier<T> action, Runnable recovery) {
+
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        int attempt = 1;
+
+        while (true) {
+            try {
+                return action.get();
+            } catch (StaleElementReferenceException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new TimeoutException(String.format("%s was still stale after %d attempts in %d ms",
+                            description, attempt, deadlineMillis), ex);
+                }
+                sleep(Math.min(backoff(attempt), remaining), ex);
+                attempt++;
+                recover(description, recovery);
+            }
+        }
+    }
+
+    private void recover(String description, Runnable recovery) {
+
+        RelocationStatistics.record(description);
+        try {
+            recovery.run();
+        } catch (StaleElementReferenceException ex) {
+            // The parent went stale too; the next attempt will fail and back off again
+        }
+    }
+
+    /**
+     * Exponential backoff with "equal jitter": a random interval between half and all of the exponential delay, so
+     * threads that went stale together do not all retry in lockstep.
+     */
+    private long backoff(int attempt) {
+
+        long delay = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    private void sleep(long millis, StaleElementReferenceException cause) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
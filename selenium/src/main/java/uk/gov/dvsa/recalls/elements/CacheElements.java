@@ -0,0 +1,17 @@
+package uk.gov.dvsa.recalls.elements;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Resolves every {@code @FindBy} field of the annotated page once per page instance, instead of on every access.
+ * Single fields can opt in with Selenium's {@code @CacheLookup}.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheElements {
+}
@@ -6,33 +6,151 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
+import uk.gov.dvsa.recalls.config.webdriver.BaseAppDriver;
+
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Finds the element or elements of a page object field, wrapped to be re-located if they go stale. With caching on,
+ * the elements found are reused until the page changes. Finding out if the document itself has changed would take a
+ * round trip to the browser on every use, which is what caching saves, so the cache is dropped instead after any
+ * navigation through the driver, and after a click, a submit or an Enter key on an element this page found, which may
+ * have loaded a new page. A page re-rendered in place by script is detected when a cached element turns out stale.
+ */
 public class DvsaElementLocator implements ElementLocator {
     private final SearchContext searchContext;
     private final By by;
+    private final boolean cacheLookup;
+
+    private WebElement cachedElement;
+    private List<WebElement> cachedElements;
+    private long cachedAtNavigation;
 
     protected DvsaElementLocator(SearchContext searchContext, Field field) {
 
-        this(searchContext, new Annotations(field));
+        this(searchContext, new Annotations(field), false);
+    }
+
+    protected DvsaElementLocator(SearchContext searchContext, Field field, boolean cacheLookup) {
+
+        this(searchContext, new Annotations(field), cacheLookup);
     }
 
     protected DvsaElementLocator(SearchContext searchContext, Annotations annotations) {
 
+        this(searchContext, annotations, false);
+    }
+
+    protected DvsaElementLocator(SearchContext searchContext, Annotations annotations, boolean cacheLookup) {
+
+        this(searchContext, annotations.buildBy(), cacheLookup || annotations.isLookupCached());
+    }
+
+    protected DvsaElementLocator(SearchContext searchContext, By by, boolean cacheLookup) {
+
         this.searchContext = searchContext;
-        this.by = annotations.buildBy();
+        this.by = by;
+        this.cacheLookup = cacheLookup;
     }
 
 
     public WebElement findElement() {
 
-        return DvsaWebElement.wrap(searchContext.findElement(by), new FindElementLocator(searchContext, by));
+        if (cacheLookup) {
+            if (cachedElement != null && isCacheCurrent()) {
+                LocatorCacheStatistics.hit();
+                return cachedElement;
+            }
+            LocatorCacheStatistics.miss();
+            cachedAtNavigation = currentNavigation();
+            cachedElement =
+                    DvsaWebElement.wrap(searchContext.findElement(by), invalidatingLocator(), afterInteraction());
+            return cachedElement;
+        }
+
+        return DvsaWebElement.wrap(searchContext.findElement(by), new FindElementLocator(searchContext, by),
+                afterInteraction());
     }
 
     public List<WebElement> findElements() {
 
-        return DvsaWebElement.wrap(searchContext.findElements(by), new FindElementLocator(searchContext, by));
+        if (cacheLookup) {
+            if (cachedElements != null && isCacheCurrent()) {
+                LocatorCacheStatistics.hit();
+                return cachedElements;
+            }
+            LocatorCacheStatistics.miss();
+            cachedAtNavigation = currentNavigation();
+            cachedElements = wrapAll(searchContext.findElements(by), true);
+            return cachedElements;
+        }
+
+        return wrapAll(searchContext.findElements(by), false);
+    }
+
+    private List<WebElement> wrapAll(List<WebElement> elements, boolean invalidateOnStale) {
+
+        List<WebElement> webElements = new ArrayList<>(elements.size());
+
+        for (int i = 0; i < elements.size(); i++) {
+            Locator locator = new FindElementsLocator(searchContext, by, i);
+            webElements.add(DvsaWebElement.wrap(elements.get(i), invalidateOnStale ? invalidating(locator) : locator,
+                    afterInteraction()));
+        }
+
+        return webElements;
+    }
+
+    private Locator invalidatingLocator() {
+
+        return invalidating(new FindElementLocator(searchContext, by));
+    }
+
+    /**
+     * A cached element went stale, so the page was re-rendered: forget the cached list and re-resolve this element.
+     */
+    private Locator invalidating(Locator locator) {
+
+        return new Locator() {
+            @Override
+            public WebElement locate() {
+
+                LocatorCacheStatistics.invalidation();
+                cachedElements = null;
+                return locator.locate();
+            }
+
+            @Override
+            public String toString() {
+
+                return locator.toString();
+            }
+        };
+    }
+
+    private boolean isCacheCurrent() {
+
+        if (cachedAtNavigation != currentNavigation()) {
+            LocatorCacheStatistics.invalidation();
+            cachedElement = null;
+            cachedElements = null;
+            return false;
+        }
+        return true;
+    }
+
+    private Runnable afterInteraction() {
+
+        return searchContext instanceof BaseAppDriver
+                ? ((BaseAppDriver) searchContext)::interactionMayHaveNavigated
+                : () -> { };
+    }
+
+    private long currentNavigation() {
+
+        return searchContext instanceof BaseAppDriver ? ((BaseAppDriver) searchContext).getNavigationCount() : 0;
     }
 
     @Override
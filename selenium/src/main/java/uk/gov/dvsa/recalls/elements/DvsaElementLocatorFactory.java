@@ -1,5 +1,6 @@
 package uk.gov.dvsa.recalls.elements;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
@@ -8,15 +9,37 @@ import java.lang.reflect.Field;
 
 public class DvsaElementLocatorFactory implements ElementLocatorFactory {
     private final SearchContext searchContext;
+    private final boolean cacheElements;
 
     public DvsaElementLocatorFactory(SearchContext searchContext) {
 
+        this(searchContext, Object.class);
+    }
+
+    public DvsaElementLocatorFactory(SearchContext searchContext, Class<?> pageClass) {
+
+        this(searchContext, pageClass.isAnnotationPresent(CacheElements.class));
+    }
+
+    public DvsaElementLocatorFactory(SearchContext searchContext, boolean cacheElements) {
+
         this.searchContext = searchContext;
+        this.cacheElements = cacheElements;
     }
 
     @Override
     public ElementLocator createLocator(Field field) {
 
-        return new DvsaElementLocator(searchContext, field);
+        return new DvsaElementLocator(searchContext, field, cacheElements);
+    }
+
+    /**
+     * Creates a locator from a {@link By} that was already built from the field's annotations.
+     *
+     * @param cacheLookup whether the field itself is annotated with {@code @CacheLookup}
+     */
+    public ElementLocator createLocator(By by, boolean cacheLookup) {
+
+        return new DvsaElementLocator(searchContext, by, cacheElements || cacheLookup);
     }
 }
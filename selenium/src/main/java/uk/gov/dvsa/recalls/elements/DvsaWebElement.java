@@ -5,22 +5,31 @@ import org.openqa.selenium.Dimension;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.Rectangle;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
-public class DvsaWebElement implements WebElement {
+public class DvsaWebElement implements WebElement, WrapsElement {
 
     private Locator locator;
     private WebElement underlyingElement;
+    private final Runnable afterInteraction;
 
     protected DvsaWebElement(WebElement underlyingElement, Locator locator) {
 
+        this(underlyingElement, locator, () -> { });
+    }
+
+    protected DvsaWebElement(WebElement underlyingElement, Locator locator, Runnable afterInteraction) {
+
         this.underlyingElement = underlyingElement;
         this.locator = locator;
+        this.afterInteraction = afterInteraction;
     }
 
     public static WebElement wrap(WebElement element, Locator locator) {
@@ -28,6 +37,15 @@ public class DvsaWebElement implements WebElement {
         return new DvsaWebElement(element, locator);
     }
 
+    /**
+     * @param afterInteraction run after a click, a submit or an Enter key on the element, or on an element found
+     *                         inside it, any of which may load a new page
+     */
+    public static WebElement wrap(WebElement element, Locator locator, Runnable afterInteraction) {
+
+        return new DvsaWebElement(element, locator, afterInteraction);
+    }
+
     public static List<WebElement> wrap(List<WebElement> elements, Locator locator) {
 
         List<WebElement> webElements = new ArrayList<>();
@@ -43,10 +61,9 @@ public class DvsaWebElement implements WebElement {
     public void click() {
 
         try {
-            underlyingElement.click();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            click();
+            retryAction(() -> underlyingElement.click());
+        } finally {
+            afterInteraction.run();
         }
     }
 
@@ -54,10 +71,9 @@ public class DvsaWebElement implements WebElement {
     public void submit() {
 
         try {
-            underlyingElement.submit();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            submit();
+            retryAction(() -> underlyingElement.submit());
+        } finally {
+            afterInteraction.run();
         }
     }
 
@@ -65,162 +81,119 @@ public class DvsaWebElement implements WebElement {
     public void sendKeys(CharSequence... charSequences) {
 
         try {
-            underlyingElement.sendKeys(charSequences);
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            sendKeys(charSequences);
+            retryAction(() -> underlyingElement.sendKeys(charSequences));
+        } finally {
+            if (pressesEnter(charSequences)) {
+                afterInteraction.run();
+            }
         }
     }
 
+    private static boolean pressesEnter(CharSequence... charSequences) {
+
+        for (CharSequence keys : charSequences) {
+            String text = String.valueOf(keys);
+            if (text.contains(Keys.ENTER) || text.contains(Keys.RETURN) || text.contains("\n")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void clear() {
 
-        try {
-            underlyingElement.clear();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            clear();
-        }
+        retryAction(() -> underlyingElement.clear());
     }
 
     @Override
     public String getTagName() {
 
-        try {
-            return underlyingElement.getTagName();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getTagName();
-        }
+        return retry(() -> underlyingElement.getTagName());
     }
 
     @Override
     public String getAttribute(String s) {
 
-        try {
-            return underlyingElement.getAttribute(s);
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getAttribute(s);
-        }
+        return retry(() -> underlyingElement.getAttribute(s));
     }
 
     @Override
     public boolean isSelected() {
 
-        try {
-            return underlyingElement.isSelected();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return isSelected();
-        }
+        return retry(() -> underlyingElement.isSelected());
     }
 
     @Override
     public boolean isEnabled() {
 
-        try {
-            return underlyingElement.isEnabled();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return isEnabled();
-        }
+        return retry(() -> underlyingElement.isEnabled());
     }
 
     @Override
     public String getText() {
 
-        try {
-            return underlyingElement.getText();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getText();
-        }
+        return retry(() -> underlyingElement.getText());
     }
 
     @Override
     public List<WebElement> findElements(By by) {
 
-        try {
+        return retry(() -> {
             List<WebElement> webElements = new ArrayList<>();
             List<WebElement> webElementsFound = underlyingElement.findElements(by);
 
             for (int i = 0; i < webElementsFound.size(); i++) {
-                webElements.add(wrap(webElementsFound.get(i), new FindElementsLocator(this, by, i)));
+                webElements.add(wrap(webElementsFound.get(i), new FindElementsLocator(this, by, i), afterInteraction));
             }
 
             return webElements;
-
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return findElements(by);
-        }
+        });
     }
 
     @Override
     public WebElement findElement(By by) {
 
-        try {
-            return wrap(underlyingElement.findElement(by), new FindElementLocator(this, by));
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return findElement(by);
-        }
+        return retry(() -> wrap(underlyingElement.findElement(by), new FindElementLocator(this, by), afterInteraction));
     }
 
     @Override
     public boolean isDisplayed() {
 
-        try {
-            return underlyingElement.isDisplayed();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return isDisplayed();
-        }
+        return retry(() -> underlyingElement.isDisplayed());
     }
 
     @Override
     public Point getLocation() {
 
-        try {
-            return underlyingElement.getLocation();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getLocation();
-        }
+        return retry(() -> underlyingElement.getLocation());
     }
 
     @Override
     public Dimension getSize() {
 
-        try {
-            return underlyingElement.getSize();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getSize();
-        }
+        return retry(() -> underlyingElement.getSize());
     }
 
     @Override
     public Rectangle getRect() {
 
-        try {
-            return underlyingElement.getRect();
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getRect();
-        }
+        return retry(() -> underlyingElement.getRect());
     }
 
     @Override
     public String getCssValue(String s) {
 
-        try {
-            return underlyingElement.getCssValue(s);
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getCssValue(s);
-        }
+        return retry(() -> underlyingElement.getCssValue(s));
+    }
+
+    /**
+     * Lets the driver pass this element to scripts as the element it wraps.
+     */
+    @Override
+    public WebElement getWrappedElement() {
+
+        return underlyingElement;
     }
 
     protected void againLocate() {
@@ -231,11 +204,19 @@ public class DvsaWebElement implements WebElement {
     @Override
     public <X> X getScreenshotAs(OutputType<X> xOutputType) throws WebDriverException {
 
-        try {
-            return underlyingElement.getScreenshotAs(xOutputType);
-        } catch (StaleElementReferenceException sere) {
-            againLocate();
-            return getScreenshotAs(xOutputType);
-        }
+        return retry(() -> underlyingElement.getScreenshotAs(xOutputType));
+    }
+
+    private <T> T retry(Supplier<T> action) {
+
+        return RetryPolicyRegistry.get().call(locator.toString(), action, this::againLocate);
+    }
+
+    private void retryAction(Runnable action) {
+
+        retry(() -> {
+            action.run();
+            return null;
+        });
     }
 }
@@ -0,0 +1,32 @@
+package uk.gov.dvsa.recalls.elements;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * The lazily locating proxies {@link org.openqa.selenium.support.pagefactory.DefaultFieldDecorator} puts in page
+ * fields, for pages initialised without going through {@link org.openqa.selenium.support.PageFactory}.
+ */
+public class ElementProxies {
+
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final Class<?>[] LIST_INTERFACES = {List.class};
+
+    public static WebElement element(ClassLoader loader, ElementLocator locator) {
+
+        return (WebElement) Proxy.newProxyInstance(loader, ELEMENT_INTERFACES, new LocatingElementHandler(locator));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> list(ClassLoader loader, ElementLocator locator) {
+
+        return (List<WebElement>) Proxy.newProxyInstance(loader, LIST_INTERFACES, new LocatingElementListHandler(locator));
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.dvsa.recalls.elements;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Text and attribute values of an element, read in bulk with the rest of its list.
+ */
+public class ElementSnapshot {
+
+    private final String text;
+    private final Map<String, String> attributes;
+
+    public ElementSnapshot(String text, Map<String, String> attributes) {
+
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public String getText() {
+
+        return text;
+    }
+
+    public String getAttribute(String name) {
+
+        return attributes.get(name);
+    }
+}
@@ -19,4 +19,10 @@ public class FindElementLocator implements Locator {
 
         return searchContext.findElement(by);
     }
+
+    @Override
+    public String toString() {
+
+        return by.toString();
+    }
 }
@@ -21,4 +21,10 @@ public class FindElementsLocator implements Locator {
 
         return searchContext.findElements(by).get(index);
     }
+
+    @Override
+    public String toString() {
+
+        return by + "[" + index + "]";
+    }
 }
@@ -0,0 +1,46 @@
+package uk.gov.dvsa.recalls.elements;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LocatorCacheStatistics {
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+
+    static void hit() {
+
+        hits.incrementAndGet();
+    }
+
+    static void miss() {
+
+        misses.incrementAndGet();
+    }
+
+    static void invalidation() {
+
+        invalidations.incrementAndGet();
+    }
+
+    public static long getHits() {
+
+        return hits.get();
+    }
+
+    public static long getMisses() {
+
+        return misses.get();
+    }
+
+    public static long getInvalidations() {
+
+        return invalidations.get();
+    }
+
+    public static String summary() {
+
+        return String.format("Locator cache: %d hits, %d misses, %d invalidations",
+                getHits(), getMisses(), getInvalidations());
+    }
+}
@@ -0,0 +1,37 @@
+package uk.gov.dvsa.recalls.elements;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts how many times each locator had to re-locate a stale element.
+ */
+public class RelocationStatistics {
+
+    private static final Map<String, LongAdder> relocations = new ConcurrentHashMap<>();
+
+    static void record(String locator) {
+
+        relocations.computeIfAbsent(locator, key -> new LongAdder()).increment();
+    }
+
+    public static long getRelocations(String locator) {
+
+        LongAdder count = relocations.get(locator);
+        return count == null ? 0 : count.sum();
+    }
+
+    public static String summary() {
+
+        if (relocations.isEmpty()) {
+            return "Stale element re-locations: none";
+        }
+
+        return relocations.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .map(entry -> String.format("\n %6d  %s", entry.getValue().sum(), entry.getKey()))
+                .collect(Collectors.joining("", "Stale element re-locations:", ""));
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.dvsa.recalls.elements;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides how often, and how quickly, an element interaction is retried after the element went stale.
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param description names the element being retried, used to record how often it had to be re-located
+     * @param action      the interaction, repeated after each recovery
+     * @param recovery    re-locates the element before the next attempt
+     * @return the result of the first attempt that did not hit a stale element
+     */
+    <T> T call(String description, Supplier<T> action, Runnable recovery);
+}
@@ -0,0 +1,22 @@
+package uk.gov.dvsa.recalls.elements;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+public class RetryPolicyRegistry {
+
+    private static volatile RetryPolicy retryPolicy = new BackoffRetryPolicy(
+            Configurator.getRetryMaxAttempts(),
+            Configurator.getRetryInitialBackoff(),
+            Configurator.getRetryMaxBackoff(),
+            Configurator.getRetryDeadline());
+
+    public static RetryPolicy get() {
+
+        return retryPolicy;
+    }
+
+    public static void set(RetryPolicy policy) {
+
+        retryPolicy = policy;
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.dvsa.recalls.load;
+
+import uk.gov.dvsa.recalls.WebDriverConfiguratorRegistry;
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.metrics.CommandMetrics;
+import uk.gov.dvsa.recalls.navigation.PageNavigator;
+import uk.gov.dvsa.recalls.ui.page.EnterYearPage;
+import uk.gov.dvsa.recalls.ui.page.RecallInformationSearchPage;
+import uk.gov.dvsa.recalls.ui.page.ResultsPage;
+import uk.gov.dvsa.recalls.ui.page.SelectVehicleMakePage;
+import uk.gov.dvsa.recalls.ui.page.SelectVehicleModelPage;
+
+import static uk.gov.dvsa.recalls.load.VehicleJourney.HOME;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_MAKE;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_MODEL;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_RECALL_TYPE;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_YEAR;
+
+/**
+ * Walks the journey through the page objects in a browser leased from the pool, so each step includes rendering,
+ * scripts and the waits the journey tests make.
+ */
+public class BrowserVirtualUser implements VirtualUser {
+
+    private final VehicleJourney journey;
+
+    BrowserVirtualUser(VehicleJourney journey) {
+
+        this.journey = journey;
+    }
+
+    @Override
+    public void runJourney(LoadTestReport report) throws Exception {
+
+        WebDriverConfiguratorRegistry.get().getDriver().setBaseUrl(Configurator.baseUrl());
+        try {
+            RecallInformationSearchPage searchPage =
+                    report.time(HOME, () -> PageNavigator.goTo(RecallInformationSearchPage.class));
+            SelectVehicleMakePage makePage = report.time(SUBMIT_RECALL_TYPE, searchPage::selectVehicleRecallAndContinue);
+            SelectVehicleModelPage modelPage =
+                    report.time(SUBMIT_MAKE, () -> makePage.selectMakeAndContinue(journey.getMake()));
+            EnterYearPage yearPage = report.time(SUBMIT_MODEL, () -> modelPage.selectModelAndContinue(journey.getModel()));
+            report.time(SUBMIT_YEAR, () -> yearPage.enterYearAndContinue(journey.getYear(), ResultsPage.class));
+        } catch (Exception | AssertionError e) {
+            // The browser may be left on an unexpected page, so reset it before the next journey
+            WebDriverConfiguratorRegistry.release(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+
+        CommandMetrics.leavePage();
+        WebDriverConfiguratorRegistry.release();
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.dvsa.recalls.load;
+
+import uk.gov.dvsa.recalls.navigation.HttpClient;
+import uk.gov.dvsa.recalls.navigation.HttpPage;
+
+import java.io.IOException;
+
+import static uk.gov.dvsa.recalls.load.VehicleJourney.HOME;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.RECALL_TYPE;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_MAKE;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_MODEL;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_RECALL_TYPE;
+import static uk.gov.dvsa.recalls.load.VehicleJourney.SUBMIT_YEAR;
+
+/**
+ * Walks the journey with plain HTTP requests, the way a browser without JavaScript would: each form posts to the
+ * page it is on and the redirect to the next page is followed. Every journey starts a new session with no cookies.
+ */
+public class HttpVirtualUser implements VirtualUser {
+
+    private final String baseUrl;
+    private final VehicleJourney journey;
+
+    HttpVirtualUser(String baseUrl, VehicleJourney journey) {
+
+        this.baseUrl = baseUrl;
+        this.journey = journey;
+    }
+
+    @Override
+    public void runJourney(LoadTestReport report) throws Exception {
+
+        HttpClient client = new HttpClient();
+
+        HttpPage searchPage = report.time(HOME, () -> ok(client.get(baseUrl + "/recall-type")));
+        HttpPage makePage = report.time(SUBMIT_RECALL_TYPE,
+                () -> ok(client.submitForm(searchPage, "recallType", RECALL_TYPE)));
+        HttpPage modelPage = report.time(SUBMIT_MAKE, () -> ok(client.submitForm(makePage, "make", journey.getMake())));
+        HttpPage yearPage = report.time(SUBMIT_MODEL,
+                () -> ok(client.submitForm(modelPage, "model", journey.getModel())));
+        report.time(SUBMIT_YEAR, () -> ok(client.submitForm(yearPage, "year", journey.getYear())));
+    }
+
+    private static HttpPage ok(HttpPage page) throws IOException {
+
+        if (page.getStatus() != 200) {
+            throw new IOException(String.format("%s returned %d", page.getUrl(), page.getStatus()));
+        }
+        return page;
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.dvsa.recalls.load;
+
+import uk.gov.dvsa.recalls.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and errors per journey step, shared by all virtual users of a load test.
+ */
+public class LoadTestReport {
+
+    static final String JOURNEY = "journey";
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Set<String> steps = new CopyOnWriteArraySet<>();
+
+    /**
+     * Runs and times one step of a journey. A failed step is counted as an error and ends the journey.
+     */
+    public <T> T time(String step, Callable<T> action) throws Exception {
+
+        steps.add(step);
+        long start = System.nanoTime();
+        try {
+            T result = action.call();
+            latencies.computeIfAbsent(step, key -> new LatencyHistogram())
+                    .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            return result;
+        } catch (Exception | AssertionError e) {
+            errors.computeIfAbsent(step, key -> new LongAdder()).increment();
+            throw e;
+        }
+    }
+
+    public long getCount(String step) {
+
+        LatencyHistogram histogram = latencies.get(step);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    public long getErrors(String step) {
+
+        LongAdder count = errors.get(step);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * @param elapsedMillis how long the test ran for, to work out throughput
+     * @return per step: completed count, errors, throughput per second and latency in milliseconds
+     */
+    public Map<String, Map<String, Object>> summary(long elapsedMillis) {
+
+        // Steps in the order they were first run, with the whole journey last
+        List<String> order = new ArrayList<>(steps);
+        if (order.remove(JOURNEY)) {
+            order.add(JOURNEY);
+        }
+
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        for (String step : order) {
+            LatencyHistogram histogram = latencies.getOrDefault(step, new LatencyHistogram());
+            Map<String, Object> stepSummary = new LinkedHashMap<>();
+            stepSummary.put("errors", getErrors(step));
+            stepSummary.put("throughput", Math.round(histogram.getCount() * 100000d / elapsedMillis) / 100d);
+            stepSummary.putAll(histogram.summary(1000));
+            summary.put(step, stepSummary);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,143 @@
+package uk.gov.dvsa.recalls.load;
+
+import org.openqa.selenium.json.Json;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Replays the vehicle recall journey with a number of concurrent virtual users against test.baseUrl for a fixed
+ * time, then reports throughput and latency percentiles per step.
+ *
+ * The http engine sends the same requests as a browser without JavaScript and measures the frontend and backend
+ * alone. The browser engine drives the page objects in browsers from the pool and includes rendering.
+ */
+public class LoadTestRunner {
+
+    private final int users;
+    private final long durationMillis;
+    private final long rampUpMillis;
+
+    public LoadTestRunner(int users, long durationMillis, long rampUpMillis) {
+
+        this.users = users;
+        this.durationMillis = durationMillis;
+        this.rampUpMillis = rampUpMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestRunner runner = new LoadTestRunner(Configurator.getLoadUsers(),
+                TimeUnit.SECONDS.toMillis(Configurator.getLoadDuration()),
+                TimeUnit.SECONDS.toMillis(Configurator.getLoadRampUp()));
+        VehicleJourney journey = VehicleJourney.fromConfiguration();
+        String engine = Configurator.getLoadEngine();
+
+        Map<String, Map<String, Object>> summary;
+        switch (engine) {
+            case "http":
+                summary = runner.run(() -> new HttpVirtualUser(Configurator.baseUrl(), journey));
+                break;
+            case "browser":
+                if (Configurator.getDriverPoolSize() < runner.users) {
+                    Logger.info(String.format("Only %d browsers in the pool for %d users, users will queue for them",
+                            Configurator.getDriverPoolSize(), runner.users));
+                }
+                summary = runner.run(() -> new BrowserVirtualUser(journey));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load test engine '" + engine + "', use http or browser");
+        }
+
+        writeReport(engine, runner, summary);
+        // Pooled browsers and their shutdown hooks would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    /**
+     * Starts the users, spread evenly over the ramp-up, and has each of them run journeys until the time is up.
+     *
+     * @return the summary of each step, see {@link LoadTestReport#summary(long)}
+     */
+    public Map<String, Map<String, Object>> run(Supplier<VirtualUser> userFactory) throws InterruptedException {
+
+        LoadTestReport report = new LoadTestReport();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            long delay = users > 1 ? rampUpMillis * i / (users - 1) : 0;
+            running.add(executor.submit(() -> runUser(userFactory, report, delay, deadline)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationMillis + rampUpMillis + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+        running.forEach(future -> future.cancel(true));
+
+        return report.summary(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void runUser(Supplier<VirtualUser> userFactory, LoadTestReport report, long delay, long deadline) {
+
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            return;
+        }
+
+        try (VirtualUser user = userFactory.get()) {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                try {
+                    report.time(LoadTestReport.JOURNEY, () -> {
+                        user.runJourney(report);
+                        return null;
+                    });
+                } catch (Exception | AssertionError e) {
+                    Logger.error(Thread.currentThread().getName() + " journey failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void writeReport(String engine, LoadTestRunner runner, Map<String, Map<String, Object>> summary)
+            throws IOException {
+
+        StringBuilder table = new StringBuilder(String.format("Load test: %s engine, %d users, %d s%n%-20s %8s %7s %10s %9s %9s %9s %9s",
+                engine, runner.users, TimeUnit.MILLISECONDS.toSeconds(runner.durationMillis),
+                "step", "count", "errors", "per second", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        summary.forEach((step, stats) -> table.append(String.format("%n%-20s %8s %7s %10s %9s %9s %9s %9s", step,
+                stats.get("count"), stats.get("errors"), stats.get("throughput"), stats.get("p50"), stats.get("p95"),
+                stats.get("p99"), stats.get("max"))));
+        Logger.info(table.toString());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("engine", engine);
+        report.put("baseUrl", Configurator.baseUrl());
+        report.put("users", runner.users);
+        report.put("durationSeconds", TimeUnit.MILLISECONDS.toSeconds(runner.durationMillis));
+        report.put("unit", "ms");
+        report.put("steps", summary);
+
+        Path folder = Paths.get(Configurator.getMetricsFolder());
+        Files.createDirectories(folder);
+        Path file = folder.resolve("load-test-" + engine + ".json");
+        Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        Logger.info("Load test report written to " + file.toAbsolutePath());
+    }
+}
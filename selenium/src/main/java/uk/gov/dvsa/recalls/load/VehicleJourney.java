@@ -0,0 +1,48 @@
+package uk.gov.dvsa.recalls.load;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+/**
+ * The vehicle searched for by every virtual user, and the names of the steps of the journey.
+ */
+public class VehicleJourney {
+
+    static final String RECALL_TYPE = "vehicle";
+
+    static final String HOME = "recall type page";
+    static final String SUBMIT_RECALL_TYPE = "submit recall type";
+    static final String SUBMIT_MAKE = "submit make";
+    static final String SUBMIT_MODEL = "submit model";
+    static final String SUBMIT_YEAR = "submit year";
+
+    private final String make;
+    private final String model;
+    private final String year;
+
+    public VehicleJourney(String make, String model, String year) {
+
+        this.make = make;
+        this.model = model;
+        this.year = year;
+    }
+
+    public static VehicleJourney fromConfiguration() {
+
+        return new VehicleJourney(Configurator.getLoadMake(), Configurator.getLoadModel(), Configurator.getLoadYear());
+    }
+
+    public String getMake() {
+
+        return make;
+    }
+
+    public String getModel() {
+
+        return model;
+    }
+
+    public String getYear() {
+
+        return year;
+    }
+}
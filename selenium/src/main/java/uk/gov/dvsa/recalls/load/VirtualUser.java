@@ -0,0 +1,15 @@
+package uk.gov.dvsa.recalls.load;
+
+/**
+ * One simulated user, driven by a single thread for the length of a load test.
+ */
+public interface VirtualUser extends AutoCloseable {
+
+    /**
+     * Runs the vehicle recall journey once, timing each step in the report.
+     */
+    void runJourney(LoadTestReport report) throws Exception;
+
+    @Override
+    void close();
+}
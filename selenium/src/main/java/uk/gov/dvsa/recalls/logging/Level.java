@@ -0,0 +1,5 @@
+package uk.gov.dvsa.recalls.logging;
+
+public enum Level {
+    DEBUG, INFO, WARN, ERROR
+}
@@ -0,0 +1,107 @@
+package uk.gov.dvsa.recalls.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One log line. Only the values are captured on the logging thread; formatting happens on the writer thread.
+ */
+class LogEvent {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
+
+    private final long time;
+    private final Level level;
+    private final String thread;
+    private final String correlationId;
+    private final String test;
+    private final String message;
+    private final Throwable exception;
+
+    LogEvent(Level level, String message, Throwable exception, TestLog testLog) {
+
+        this.time = System.currentTimeMillis();
+        this.level = level;
+        this.thread = Thread.currentThread().getName();
+        this.correlationId = testLog == null ? null : testLog.getCorrelationId();
+        this.test = testLog == null ? null : testLog.getTestName();
+        this.message = message;
+        this.exception = exception;
+    }
+
+    Level getLevel() {
+
+        return level;
+    }
+
+    String toJson() {
+
+        StringBuilder json = new StringBuilder(128 + message.length()).append('{');
+        field(json, "time", timestamp()).append(',');
+        field(json, "level", level.name()).append(',');
+        field(json, "thread", thread);
+        if (correlationId != null) {
+            field(json.append(','), "correlationId", correlationId).append(',');
+            field(json, "test", test);
+        }
+        field(json.append(','), "message", message);
+        if (exception != null) {
+            field(json.append(','), "exception", stackTrace());
+        }
+        return json.append('}').toString();
+    }
+
+    String toText() {
+
+        String text = String.format("%s %-5s [%s] %s", timestamp(), level, correlationId == null ? thread : correlationId,
+                message);
+        return exception == null ? text : text + "\n" + stackTrace();
+    }
+
+    private String timestamp() {
+
+        return TIMESTAMP.format(Instant.ofEpochMilli(time));
+    }
+
+    private String stackTrace() {
+
+        StringWriter stackTrace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stackTrace));
+        return stackTrace.toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+}
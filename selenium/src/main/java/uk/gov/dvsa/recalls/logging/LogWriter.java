@@ -0,0 +1,128 @@
+package uk.gov.dvsa.recalls.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes log events as JSON lines to stdout, and to a file if one is configured, on a background thread. When the
+ * queue is full the logging thread writes the event itself, so events are never lost.
+ */
+class LogWriter {
+
+    private static final int QUEUE_SIZE = 8192;
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final PrintStream console = System.out;
+    private final BufferedWriter file;
+
+    LogWriter(String logFile) {
+
+        this.file = openFile(logFile);
+
+        Thread thread = new Thread(this::drain, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(5, TimeUnit.SECONDS)));
+    }
+
+    void write(LogEvent event) {
+
+        if (!queue.offer(event)) {
+            writeNow(event);
+        }
+    }
+
+    /**
+     * Waits until everything queued so far has been written out.
+     */
+    void flush(long timeout, TimeUnit unit) {
+
+        CountDownLatch written = new CountDownLatch(1);
+        try {
+            queue.put(written);
+            written.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+
+        List<Object> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            for (Object item : batch) {
+                if (item instanceof LogEvent) {
+                    writeNow((LogEvent) item);
+                } else {
+                    flushStreams();
+                    ((CountDownLatch) item).countDown();
+                }
+            }
+            flushStreams();
+            batch.clear();
+        }
+    }
+
+    private synchronized void writeNow(LogEvent event) {
+
+        String line = event.toJson();
+        console.println(line);
+        if (file != null) {
+            try {
+                file.write(line);
+                file.newLine();
+            } catch (IOException e) {
+                console.println("Unable to write to the log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void flushStreams() {
+
+        console.flush();
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                console.println("Unable to write to the log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private static BufferedWriter openFile(String logFile) {
+
+        if (logFile == null || logFile.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(logFile);
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            return Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Unable to open the log file " + logFile + ", logging to stdout only: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -2,31 +2,106 @@ package uk.gov.dvsa.recalls.logging;
 
 import org.testng.Reporter;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import uk.gov.dvsa.recalls.config.Configurator;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Structured logger. Events at or above test.log.level are written straight away as JSON lines, on a background
+ * thread. While a test runs, all its events, at any level, also go into a bounded buffer tagged with the test's
+ * correlation id. If the test fails the buffer is written out, including the events below the level, and attached to
+ * the test in the TestNG report; otherwise it is dropped.
+ */
 public class Logger {
 
+    private static final Level threshold = Configurator.getLogLevel();
+    private static final int bufferSize = Configurator.getLogBufferSize();
+    private static final LogWriter writer = new LogWriter(Configurator.getLogFile());
+
+    private static final ThreadLocal<TestLog> currentTest = new ThreadLocal<>();
+    private static final AtomicLong testCount = new AtomicLong();
+
+    public static void debug(String logText) {
+
+        log(Level.DEBUG, logText, null);
+    }
+
     public static void info(String logText) {
 
-        String logInfo = ("INFO: [" + logText + "]");
-        Reporter.log(logInfo, true);
+        log(Level.INFO, logText, null);
+    }
+
+    public static void warn(String logText) {
+
+        log(Level.WARN, logText, null);
     }
 
     public static void error(String logText) {
 
-        String logErr = ("ERROR: [" + logText + "]");
-        Reporter.log(logErr, true);
+        log(Level.ERROR, logText, null);
     }
 
     public static void error(String logText, Exception ex) {
 
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter printWriter = new PrintWriter(stringWriter);
-        ex.printStackTrace(printWriter);
+        log(Level.ERROR, logText, ex);
+    }
+
+    /**
+     * Starts buffering the events of the calling thread under a new correlation id.
+     */
+    public static void startTest(String testName) {
+
+        String correlationId = String.format("%s-%d", Long.toString(System.currentTimeMillis(), 36),
+                testCount.incrementAndGet());
+        currentTest.set(new TestLog(correlationId, testName, bufferSize));
+    }
+
+    /**
+     * Stops buffering the events of the calling thread, and reports them if the test failed.
+     */
+    public static void endTest(boolean failed) {
+
+        TestLog testLog = currentTest.get();
+        currentTest.remove();
+        if (testLog == null || !failed) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder();
+        if (testLog.getDropped() > 0) {
+            report.append(String.format("(%d earlier events dropped)%n", testLog.getDropped()));
+        }
+        for (LogEvent event : testLog.getEvents()) {
+            if (event.getLevel().compareTo(threshold) < 0) {
+                writer.write(event);
+            }
+            report.append(event.toText()).append(System.lineSeparator());
+        }
+        Reporter.log(report.toString(), false);
+    }
+
+    /**
+     * Waits for the queued events to be written, at the end of a suite.
+     */
+    public static void flush() {
+
+        writer.flush(10, TimeUnit.SECONDS);
+    }
+
+    private static void log(Level level, String message, Throwable exception) {
 
-        String logErr = ("ERROR: [" + logText + "]\n" + stringWriter.toString());
+        TestLog testLog = currentTest.get();
+        if (testLog == null && level.compareTo(threshold) < 0) {
+            return;
+        }
 
-        Reporter.log(logErr, true);
+        LogEvent event = new LogEvent(level, String.valueOf(message), exception, testLog);
+        if (testLog != null) {
+            testLog.add(event);
+        }
+        if (level.compareTo(threshold) >= 0) {
+            writer.write(event);
+        }
     }
 }
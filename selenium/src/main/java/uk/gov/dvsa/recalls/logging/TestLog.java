@@ -0,0 +1,62 @@
+package uk.gov.dvsa.recalls.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The most recent log events of the running test, kept so they can be reported if it fails. Only the thread running
+ * the test touches it.
+ */
+class TestLog {
+
+    private final String correlationId;
+    private final String testName;
+    private final int capacity;
+    private final Deque<LogEvent> events;
+    private int dropped;
+
+    TestLog(String correlationId, String testName, int capacity) {
+
+        this.correlationId = correlationId;
+        this.testName = testName;
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    String getCorrelationId() {
+
+        return correlationId;
+    }
+
+    String getTestName() {
+
+        return testName;
+    }
+
+    void add(LogEvent event) {
+
+        if (capacity <= 0) {
+            return;
+        }
+        if (events.size() == capacity) {
+            events.removeFirst();
+            dropped++;
+        }
+        events.addLast(event);
+    }
+
+    /**
+     * @return number of older events that no longer fit in the buffer
+     */
+    int getDropped() {
+
+        return dropped;
+    }
+
+    List<LogEvent> getEvents() {
+
+        return new ArrayList<>(events);
+    }
+}
@@ -0,0 +1,114 @@
+package uk.gov.dvsa.recalls.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency of every WebDriver command, kept per command and per page the command was sent from, and written out as
+ * CSV and JSON at the end of the suite.
+ */
+public class CommandMetrics {
+
+    private static final String NO_PAGE = "(none)";
+    private static final String CSV_HEADER = "page,command,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms";
+
+    private static final ConcurrentMap<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> byPage =
+            new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentPage = new ThreadLocal<>();
+
+    /**
+     * Attributes the commands sent from the calling thread to the given page until another page is entered.
+     */
+    public static void enterPage(Class<?> pageClass) {
+
+        currentPage.set(pageClass.getSimpleName());
+    }
+
+    public static void leavePage() {
+
+        currentPage.remove();
+    }
+
+    public static void record(String command, long nanos) {
+
+        String page = currentPage.get() == null ? NO_PAGE : currentPage.get();
+        long micros = nanos / 1000;
+
+        byCommand.computeIfAbsent(command, key -> new LatencyHistogram()).record(micros);
+        byPage.computeIfAbsent(page, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, key -> new LatencyHistogram()).record(micros);
+    }
+
+    /**
+     * Writes command-latency.csv and command-latency.json to the metrics folder, if any command was recorded.
+     */
+    public static void writeReport() {
+
+        if (byCommand.isEmpty()) {
+            return;
+        }
+
+        Path folder = Paths.get(Configurator.getMetricsFolder());
+        try {
+            Files.createDirectories(folder);
+            Files.write(folder.resolve("command-latency.csv"), csv(), StandardCharsets.UTF_8);
+            Files.write(folder.resolve("command-latency.json"),
+                    new Json().toJson(json()).getBytes(StandardCharsets.UTF_8));
+            Logger.info("WebDriver command latency report written to " + folder.toAbsolutePath());
+        } catch (IOException e) {
+            Logger.error("Unable to write the WebDriver command latency report to " + folder, e);
+        }
+    }
+
+    private static List<String> csv() {
+
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        new TreeMap<>(byCommand).forEach((command, histogram) -> lines.add(csvLine("*", command, histogram)));
+        new TreeMap<>(byPage).forEach((page, commands) -> new TreeMap<>(commands)
+                .forEach((command, histogram) -> lines.add(csvLine(page, command, histogram))));
+        return lines;
+    }
+
+    private static String csvLine(String page, String command, LatencyHistogram histogram) {
+
+        StringBuilder line = new StringBuilder(page).append(',').append(command);
+        histogram.summary(1000).values().forEach(value -> line.append(',').append(value));
+        return line.toString();
+    }
+
+    private static Map<String, Object> json() {
+
+        Map<String, Object> pages = new TreeMap<>();
+        byPage.forEach((page, commands) -> pages.put(page, summaries(commands)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("unit", "ms");
+        report.put("commands", summaries(byCommand));
+        report.put("pages", pages);
+        return report;
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((command, histogram) -> summaries.put(command, histogram.summary(1000)));
+        return summaries;
+    }
+}
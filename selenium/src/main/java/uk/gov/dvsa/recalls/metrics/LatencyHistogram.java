@@ -0,0 +1,114 @@
+package uk.gov.dvsa.recalls.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency histogram with a fixed memory footprint. Values are counted in buckets that split every power
+ * of two into eight, so percentiles are accurate to within 12.5% however many values are recorded.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value a non-negative latency, in whatever unit the caller reads the statistics back in
+     */
+    public void record(long value) {
+
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketFor(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public long getCount() {
+
+        return count.sum();
+    }
+
+    public double getMean() {
+
+        long total = getCount();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    public long getMax() {
+
+        return max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the given percentile, never more than the largest value recorded
+     */
+    public long getPercentile(double percentile) {
+
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @param divisor converts the recorded unit to the reported one, e.g. 1000 to report microseconds as milliseconds
+     */
+    public Map<String, Object> summary(double divisor) {
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("mean", round(getMean() / divisor));
+        summary.put("p50", round(getPercentile(50) / divisor));
+        summary.put("p95", round(getPercentile(95) / divisor));
+        summary.put("p99", round(getPercentile(99) / divisor));
+        summary.put("max", round(getMax() / divisor));
+        return summary;
+    }
+
+    private static double round(double value) {
+
+        return Math.round(value * 1000) / 1000d;
+    }
+
+    static int bucketFor(long value) {
+
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + subBucket + 1L) << shift) - 1;
+    }
+}
@@ -1,20 +1,103 @@
 package uk.gov.dvsa.recalls.navigation;
 
 import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import uk.gov.dvsa.recalls.config.Configurator;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.http.client.methods.RequestBuilder.head;
 
+/**
+ * Browses the site without a browser. All instances share one pool of keep-alive connections; each instance has its
+ * own cookies, like a separate browser session. Redirects are followed after GET and POST, as a browser does after
+ * submitting a form.
+ */
 public class HttpClient {
+
+    private static final CloseableHttpClient pooledClient = createPooledClient();
+
+    private final HttpClientContext context = HttpClientContext.create();
+
+    public HttpClient() {
+
+        context.setCookieStore(new BasicCookieStore());
+    }
+
     public static HttpResponse performHeadRequest(String uri) throws IOException {
         HttpUriRequest request = head(uri).build();
 
-        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
-            return client.execute(request);
+        try (CloseableHttpResponse response = pooledClient.execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            return response;
         }
     }
+
+    public HttpPage get(String url) throws IOException {
+
+        return execute(RequestBuilder.get(url).build());
+    }
+
+    public HttpPage postForm(String url, Map<String, String> fields) throws IOException {
+
+        RequestBuilder request = RequestBuilder.post(url).setCharset(StandardCharsets.UTF_8);
+        fields.forEach(request::addParameter);
+        return execute(request.build());
+    }
+
+    /**
+     * Submits a form that has no action attribute, so posts back to the page it is on.
+     */
+    public HttpPage submitForm(HttpPage page, String field, String value) throws IOException {
+
+        return execute(RequestBuilder.post(page.getUrl()).setCharset(StandardCharsets.UTF_8)
+                .addParameter(field, value).build());
+    }
+
+    private HttpPage execute(HttpUriRequest request) throws IOException {
+
+        try (CloseableHttpResponse response = pooledClient.execute(request, context)) {
+            String body = response.getEntity() == null
+                    ? ""
+                    : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+
+            // Redirect locations are resolved against the request, so the last one is the address of the page
+            List<URI> redirects = context.getRedirectLocations();
+            URI url = redirects == null || redirects.isEmpty() ? request.getURI() : redirects.get(redirects.size() - 1);
+            return new HttpPage(response.getStatusLine().getStatusCode(), url.toString(), body);
+        }
+    }
+
+    private static CloseableHttpClient createPooledClient() {
+
+        PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager();
+        connections.setMaxTotal(Configurator.getHttpMaxConnections());
+        connections.setDefaultMaxPerRoute(Configurator.getHttpMaxConnections());
+        int timeout = (int) TimeUnit.SECONDS.toMillis(Configurator.getWaitTimeout());
+
+        return HttpClients.custom()
+                .setConnectionManager(connections)
+                .setRedirectStrategy(new LaxRedirectStrategy())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .build())
+                .build();
+    }
 }
@@ -0,0 +1,89 @@
+package uk.gov.dvsa.recalls.navigation;
+
+import com.gargoylesoftware.htmlunit.Page;
+import com.gargoylesoftware.htmlunit.StringWebResponse;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.DomElement;
+import com.gargoylesoftware.htmlunit.html.DomNode;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A page fetched by {@link HttpClient}. The HTML is only parsed when an element is looked up, with HtmlUnit and
+ * with scripts and styles turned off.
+ */
+public class HttpPage {
+
+    private static final ThreadLocal<WebClient> parser = ThreadLocal.withInitial(() -> {
+        WebClient webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(false);
+        webClient.getOptions().setCssEnabled(false);
+        return webClient;
+    });
+
+    private final int status;
+    private final String url;
+    private final String body;
+    private HtmlPage document;
+
+    HttpPage(int status, String url, String body) {
+
+        this.status = status;
+        this.url = url;
+        this.body = body;
+    }
+
+    public int getStatus() {
+
+        return status;
+    }
+
+    public String getUrl() {
+
+        return url;
+    }
+
+    public String getBody() {
+
+        return body;
+    }
+
+    /**
+     * @return text of the element with the given id, or null if there is none
+     */
+    public String getTextById(String id) {
+
+        DomElement element = getDocument().getElementById(id);
+        return element == null ? null : element.asText().trim();
+    }
+
+    public List<String> getTextsBySelector(String cssSelector) {
+
+        return getDocument().querySelectorAll(cssSelector).stream()
+                .map(DomNode::asText)
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    private HtmlPage getDocument() {
+
+        if (document == null) {
+            try {
+                WebClient webClient = parser.get();
+                Page page = webClient.loadWebResponseInto(new StringWebResponse(body, new URL(url)),
+                        webClient.getCurrentWindow());
+                if (!(page instanceof HtmlPage)) {
+                    throw new IllegalStateException(url + " is not an HTML page");
+                }
+                document = (HtmlPage) page;
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to parse " + url, e);
+            }
+        }
+        return document;
+    }
+}
@@ -3,29 +3,18 @@ package uk.gov.dvsa.recalls.navigation;
 import uk.gov.dvsa.recalls.WebDriverConfiguratorRegistry;
 import uk.gov.dvsa.recalls.config.webdriver.BaseAppDriver;
 import uk.gov.dvsa.recalls.ui.base.Page;
+import uk.gov.dvsa.recalls.ui.base.PageMetadata;
 import uk.gov.dvsa.recalls.ui.page.ResultsPage;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.text.MessageFormat;
-import java.util.stream.Stream;
 
 public class PageNavigator {
 
     public static <T extends Page> T goTo(Class<T> pageClass, Object... params) {
 
-        GotoUrl urlAn = ((GotoUrl) Stream.of(pageClass.getAnnotations())
-                .filter(a -> a.annotationType().equals(GotoUrl.class))
-                .findFirst()
-                .orElseThrow(RuntimeException::new));
-
-        navigateToPath(MessageFormat.format(urlAn.value(), params));
-
-        try {
-            return pageClass.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        navigateToPath(resolvePath(pageClass, params));
+        return PageMetadata.of(pageClass).newInstance();
     }
 
     public static ResultsPage goToResultsPage(String path, String recallType, String make, String model, String year) throws UnsupportedEncodingException {
@@ -44,6 +33,11 @@ public class PageNavigator {
         return new ResultsPage();
     }
 
+    static String resolvePath(Class<? extends Page> pageClass, Object... params) {
+
+        return PageMetadata.of(pageClass).resolvePath(params);
+    }
+
     private static void navigateToPath(String path) {
         getDriver().navigateToPath(path);
     }
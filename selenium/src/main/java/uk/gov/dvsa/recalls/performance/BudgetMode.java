@@ -0,0 +1,10 @@
+package uk.gov.dvsa.recalls.performance;
+
+public enum BudgetMode {
+    // Performance budgets are not checked
+    OFF,
+    // Breaches are logged and summarised at the end of the suite
+    REPORT,
+    // Breaches also fail the test
+    FAIL
+}
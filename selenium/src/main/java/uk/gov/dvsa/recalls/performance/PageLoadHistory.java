@@ -0,0 +1,117 @@
+package uk.gov.dvsa.recalls.performance;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Page load times in lean and full browsers, used to report how much time lean browsers save. The full browsers'
+ * median load time of each page is kept between runs, so a run with only lean browsers still has something to
+ * compare against.
+ */
+public class PageLoadHistory {
+
+    private static final Map<String, Long> baseline = load();
+    private static final Map<String, LatencyHistogram> fullLoads = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> leanLoads = new ConcurrentHashMap<>();
+
+    // Several page objects may be created on one navigation; only the first one records it
+    private static final ThreadLocal<String> lastNavigation = new ThreadLocal<>();
+
+    public static void record(Class<?> pageClass, PageTiming timing, boolean lean) {
+
+        long load = timing.get(PageTiming.LOAD);
+        if (load < 0 || timing.getNavigation().equals(lastNavigation.get())) {
+            return;
+        }
+        lastNavigation.set(timing.getNavigation());
+
+        (lean ? leanLoads : fullLoads).computeIfAbsent(pageClass.getSimpleName(), key -> new LatencyHistogram())
+                .record(load);
+    }
+
+    /**
+     * @return the load time saved on each page loaded in a lean browser, against the median load time of the page in
+     * a full browser in this run or, failing that, a previous one
+     */
+    public static String summary() {
+
+        if (leanLoads.isEmpty()) {
+            return "Lean browsers: no pages loaded";
+        }
+
+        StringBuilder summary = new StringBuilder("Lean browsers (ms):");
+        long totalSaved = 0;
+        for (Map.Entry<String, LatencyHistogram> page : new TreeMap<>(leanLoads).entrySet()) {
+            LatencyHistogram lean = page.getValue();
+            long full = fullMedian(page.getKey());
+            if (full < 0) {
+                summary.append(String.format("\n %-24s %6d loads, p50 %6d, no full browser load to compare",
+                        page.getKey(), lean.getCount(), lean.getPercentile(50)));
+                continue;
+            }
+            long saved = (full - lean.getPercentile(50)) * lean.getCount();
+            totalSaved += saved;
+            summary.append(String.format("\n %-24s %6d loads, p50 %6d against %6d full, %8d saved",
+                    page.getKey(), lean.getCount(), lean.getPercentile(50), full, saved));
+        }
+        summary.append(String.format("\n About %.1fs of page load time saved", totalSaved / 1000.0));
+        return summary.toString();
+    }
+
+    private static long fullMedian(String page) {
+
+        LatencyHistogram full = fullLoads.get(page);
+        return full != null ? full.getPercentile(50) : baseline.getOrDefault(page, -1L);
+    }
+
+    public static void save() {
+
+        if (fullLoads.isEmpty()) {
+            return;
+        }
+
+        File file = new File(Configurator.getPageLoadFile());
+        Properties props = new Properties();
+        baseline.forEach((page, millis) -> props.setProperty(page, String.valueOf(millis)));
+        fullLoads.forEach((page, loads) -> props.setProperty(page, String.valueOf(loads.getPercentile(50))));
+
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            try (OutputStream out = new FileOutputStream(file)) {
+                props.store(out, "Median page load times in full browsers in milliseconds");
+            }
+        } catch (Exception ex) {
+            Logger.error("Unable to save page load times to " + file.getAbsolutePath(), ex);
+        }
+    }
+
+    private static Map<String, Long> load() {
+
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        File file = new File(Configurator.getPageLoadFile());
+
+        if (file.exists()) {
+            Properties props = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                props.load(in);
+                props.forEach((page, millis) -> loaded.put((String) page, Long.parseLong((String) millis)));
+            } catch (Exception ex) {
+                Logger.error("Ignoring unreadable page load times file " + file.getAbsolutePath(), ex);
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.dvsa.recalls.performance;
+
+import java.util.Map;
+
+/**
+ * Timings of the navigation that loaded the current page, as the browser measured them. Values the browser has not
+ * reported yet, such as the load event of a page still loading, are -1.
+ */
+public class PageTiming {
+
+    public static final String TTFB = "ttfb";
+    public static final String DOM_CONTENT_LOADED = "domContentLoaded";
+    public static final String LOAD = "load";
+    public static final String TRANSFER_BYTES = "transferBytes";
+
+    // Times are relative to the start of the navigation; the navigation entry is cleared by the next one
+    public static final String SCRIPT =
+            "var p = window.performance;"
+                    + "if (!p || !p.timing) { return null; }"
+                    + "var t = p.timing, start = t.navigationStart;"
+                    + "var since = function (time) { return time > 0 ? time - start : -1; };"
+                    + "var bytes = 0;"
+                    + "if (p.getEntriesByType) {"
+                    + "  p.getEntriesByType('navigation').concat(p.getEntriesByType('resource')).forEach(function (e) {"
+                    + "    bytes += e.transferSize || 0;"
+                    + "  });"
+                    + "}"
+                    + "return {url: location.href, start: start, ttfb: since(t.responseStart),"
+                    + "  domContentLoaded: since(t.domContentLoadedEventEnd), load: since(t.loadEventEnd),"
+                    + "  transferBytes: bytes};";
+
+    private final String navigation;
+    private final long ttfb;
+    private final long domContentLoaded;
+    private final long load;
+    private final long transferBytes;
+
+    public PageTiming(Map<String, Object> values) {
+
+        this.navigation = values.get("url") + "@" + values.get("start");
+        this.ttfb = longValue(values.get(TTFB));
+        this.domContentLoaded = longValue(values.get(DOM_CONTENT_LOADED));
+        this.load = longValue(values.get(LOAD));
+        this.transferBytes = longValue(values.get(TRANSFER_BYTES));
+    }
+
+    /**
+     * @return identifies the navigation the timings belong to, which is the same for every page object created on it
+     */
+    public String getNavigation() {
+
+        return navigation;
+    }
+
+    public long get(String metric) {
+
+        switch (metric) {
+            case TTFB:
+                return ttfb;
+            case DOM_CONTENT_LOADED:
+                return domContentLoaded;
+            case LOAD:
+                return load;
+            case TRANSFER_BYTES:
+                return transferBytes;
+            default:
+                throw new IllegalArgumentException("Unknown page timing " + metric);
+        }
+    }
+
+    private static long longValue(Object value) {
+
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.dvsa.recalls.performance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits on how long the annotated page may take to load, in milliseconds from the start of the navigation, and how
+ * many bytes it and its resources may transfer. Checked against the browser's Navigation and Resource Timing every
+ * time the page object is created, see test.budget.mode. A negative limit is not checked.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PerformanceBudget {
+
+    /**
+     * Time to the first byte of the response.
+     */
+    long ttfb() default -1;
+
+    long domContentLoaded() default -1;
+
+    long load() default -1;
+
+    long transferBytes() default -1;
+}
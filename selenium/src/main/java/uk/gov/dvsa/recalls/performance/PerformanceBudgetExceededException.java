@@ -0,0 +1,9 @@
+package uk.gov.dvsa.recalls.performance;
+
+public class PerformanceBudgetExceededException extends RuntimeException {
+
+    public PerformanceBudgetExceededException(String message) {
+
+        super(message);
+    }
+}
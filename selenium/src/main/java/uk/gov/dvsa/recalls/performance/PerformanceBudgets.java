@@ -0,0 +1,100 @@
+package uk.gov.dvsa.recalls.performance;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks page timings against the pages' {@link PerformanceBudget}s and keeps the timings and breaches per page for
+ * the summary at the end of the suite.
+ */
+public class PerformanceBudgets {
+
+    private static final String[] METRICS = {
+            PageTiming.TTFB, PageTiming.DOM_CONTENT_LOADED, PageTiming.LOAD, PageTiming.TRANSFER_BYTES};
+
+    private static final Map<String, Map<String, LatencyHistogram>> timings = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> breaches = new ConcurrentHashMap<>();
+
+    // Several page objects may be created on one navigation; only the first one records it
+    private static final ThreadLocal<String> lastNavigation = new ThreadLocal<>();
+
+    /**
+     * @throws PerformanceBudgetExceededException in {@link BudgetMode#FAIL} mode, if the page is over its budget
+     */
+    public static void check(Class<?> pageClass, PerformanceBudget budget, PageTiming timing, BudgetMode mode) {
+
+        if (timing.getNavigation().equals(lastNavigation.get())) {
+            return;
+        }
+        lastNavigation.set(timing.getNavigation());
+
+        String page = pageClass.getSimpleName();
+        Map<String, LatencyHistogram> pageTimings = timings.computeIfAbsent(page, key -> new ConcurrentHashMap<>());
+        List<String> overBudget = new ArrayList<>();
+        for (String metric : METRICS) {
+            long value = timing.get(metric);
+            if (value < 0) {
+                continue;
+            }
+            pageTimings.computeIfAbsent(metric, key -> new LatencyHistogram()).record(value);
+
+            long limit = limit(budget, metric);
+            if (limit >= 0 && value > limit) {
+                overBudget.add(String.format("%s %d over budget of %d", metric, value, limit));
+            }
+        }
+
+        if (!overBudget.isEmpty()) {
+            breaches.computeIfAbsent(page, key -> new LongAdder()).increment();
+            String message = page + " performance budget exceeded: " + String.join(", ", overBudget);
+            Logger.warn(message);
+            if (mode == BudgetMode.FAIL) {
+                throw new PerformanceBudgetExceededException(message);
+            }
+        }
+    }
+
+    public static String summary() {
+
+        if (timings.isEmpty()) {
+            return "Performance budgets: no pages measured";
+        }
+
+        StringBuilder summary = new StringBuilder("Performance budgets (ms, bytes for transferBytes):");
+        for (Map.Entry<String, Map<String, LatencyHistogram>> page : new TreeMap<>(timings).entrySet()) {
+            LongAdder pageBreaches = breaches.get(page.getKey());
+            summary.append(String.format("\n %s, %d over budget", page.getKey(),
+                    pageBreaches == null ? 0 : pageBreaches.sum()));
+            for (String metric : METRICS) {
+                LatencyHistogram histogram = page.getValue().get(metric);
+                if (histogram != null) {
+                    summary.append(String.format("\n   %-16s %6d loads, p50 %8d, p95 %8d, max %8d", metric,
+                            histogram.getCount(), histogram.getPercentile(50), histogram.getPercentile(95),
+                            histogram.getMax()));
+                }
+            }
+        }
+        return summary.toString();
+    }
+
+    private static long limit(PerformanceBudget budget, String metric) {
+
+        switch (metric) {
+            case PageTiming.TTFB:
+                return budget.ttfb();
+            case PageTiming.DOM_CONTENT_LOADED:
+                return budget.domContentLoaded();
+            case PageTiming.LOAD:
+                return budget.load();
+            default:
+                return budget.transferBytes();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package uk.gov.dvsa.recalls.proxy;
+
+public enum ProxyMode {
+    // Browsers connect to the site directly
+    OFF,
+    // Every response is fetched from the site and stored, replacing any stored before
+    RECORD,
+    // Stored responses are served without contacting the site; anything not stored yet is fetched and stored
+    REPLAY
+}
@@ -0,0 +1,243 @@
+package uk.gov.dvsa.recalls.proxy;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP proxy between the local browsers and the site. In {@link ProxyMode#RECORD} mode every response is fetched from
+ * the site and stored in a {@link ResponseCache}; in {@link ProxyMode#REPLAY} mode stored responses are served
+ * straight from disk, so a re-run does not depend on the environment or how busy it is.
+ *
+ * Requests are told apart by method and URL, and by the body for requests that have one. Only plain http is proxied;
+ * browsers reach https sites directly.
+ */
+public class RecordReplayProxy {
+
+    private static RecordReplayProxy instance;
+    private static boolean httpsWarned;
+
+    // Hop-by-hop headers, and those the server sets itself
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "content-length", "date", "host"));
+
+    private final ProxyMode mode;
+    private final ResponseCache cache;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param port port to listen on, 0 for any free port
+     */
+    public RecordReplayProxy(ProxyMode mode, ResponseCache cache, int port) throws IOException {
+
+        this.mode = mode;
+        this.cache = cache;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "record-replay-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * @return the proxy set up by test.proxy.mode, started on first use, or null if the mode is off
+     */
+    public static synchronized RecordReplayProxy getInstance() {
+
+        if (instance == null && Configurator.getProxyMode() != ProxyMode.OFF && !httpsWarned) {
+            if (!Configurator.baseUrl().startsWith("http://")) {
+                httpsWarned = true;
+                Logger.warn("The record and replay proxy only handles http, so it is not used for " + Configurator.baseUrl());
+                return null;
+            }
+            try {
+                instance = new RecordReplayProxy(Configurator.getProxyMode(),
+                        new ResponseCache(Paths.get(Configurator.getProxyCacheFolder()),
+                                Configurator.getProxyCacheSize() * 1024 * 1024),
+                        Configurator.getProxyPort());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to start the record and replay proxy", e);
+            }
+            instance.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::stop));
+        }
+        return instance;
+    }
+
+    /**
+     * Saves the cache index so far and sums up the proxy's work, if it was used.
+     */
+    public static synchronized String summary() {
+
+        if (instance == null) {
+            return "Record and replay proxy: not used";
+        }
+        instance.cache.save();
+        return instance.toString();
+    }
+
+    public void start() {
+
+        server.start();
+        Logger.info(String.format("Record and replay proxy in %s mode listening on %s",
+                mode.name().toLowerCase(), getAddress()));
+    }
+
+    public void stop() {
+
+        server.stop(0);
+        executor.shutdownNow();
+        cache.save();
+    }
+
+    /**
+     * @return host:port for browsers to use as their http proxy
+     */
+    public String getAddress() {
+
+        return "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getHits() {
+
+        return hits.sum();
+    }
+
+    public long getMisses() {
+
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("Record and replay proxy (%s): %d responses replayed, %d fetched, %d failed;"
+                        + " %d responses, %.1f MB cached", mode.name().toLowerCase(), hits.sum(), misses.sum(),
+                failures.sum(), cache.getEntryCount(), cache.getSize() / (1024.0 * 1024.0));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try {
+            String url = exchange.getRequestURI().toString();
+            if (!url.startsWith("http://")) {
+                // Not a proxy request, or a tunnel for https, which is not recorded
+                send(exchange, new RecordedResponse(501, new LinkedHashMap<>(), new byte[0]));
+                return;
+            }
+
+            byte[] requestBody = readAll(exchange.getRequestBody());
+            String key = exchange.getRequestMethod() + " " + url
+                    + (requestBody.length == 0 ? "" : " " + ResponseCache.sha256(requestBody));
+
+            RecordedResponse response = mode == ProxyMode.REPLAY ? cache.get(key) : null;
+            if (response != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                response = fetch(exchange, url, requestBody);
+                // Server errors are not worth replaying
+                if (response.getStatus() < 500) {
+                    cache.put(key, response);
+                }
+            }
+            send(exchange, response);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            Logger.warn("Record and replay proxy could not fetch " + exchange.getRequestURI() + ": " + e);
+            send(exchange, new RecordedResponse(502, new LinkedHashMap<>(), new byte[0]));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private RecordedResponse fetch(HttpExchange exchange, String url, byte[] requestBody) throws IOException {
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection(Proxy.NO_PROXY);
+        connection.setInstanceFollowRedirects(false);
+        connection.setUseCaches(false);
+        connection.setRequestMethod(exchange.getRequestMethod());
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> connection.addRequestProperty(name, value));
+            }
+        });
+        if (requestBody.length > 0) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(requestBody);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        connection.getHeaderFields().forEach((name, values) -> {
+            // The status line has no name
+            if (name != null && !SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        try {
+            return new RecordedResponse(status, headers, body == null ? new byte[0] : readAll(body));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static void send(HttpExchange exchange, RecordedResponse response) throws IOException {
+
+        Headers headers = exchange.getResponseHeaders();
+        response.getHeaders().forEach(headers::put);
+        int status = response.getStatus();
+        boolean hasBody = response.getBody().length > 0 && status != 204 && status != 304
+                && !"HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, hasBody ? response.getBody().length : -1);
+        if (hasBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.getBody());
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package uk.gov.dvsa.recalls.proxy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response as the site sent it, body still compressed if it was.
+ */
+public class RecordedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    public RecordedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+    }
+
+    public int getStatus() {
+
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+
+        return headers;
+    }
+
+    public byte[] getBody() {
+
+        return body;
+    }
+}
@@ -0,0 +1,249 @@
+package uk.gov.dvsa.recalls.proxy;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Responses kept on disk between runs. Bodies are stored once under the SHA-256 of their content, so the same asset
+ * served at several URLs takes up space once, and an index maps each request to its status, headers and body. When
+ * the bodies take up more than the size limit, the least recently used responses are removed until they fit again.
+ *
+ * The index is read when the cache is opened and written by {@link #save()}; bodies are written as they arrive.
+ */
+public class ResponseCache {
+
+    private static final String INDEX = "index.json";
+
+    private final Path folder;
+    private final Path objects;
+    private final long maxBytes;
+
+    // Least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> references = new HashMap<>();
+    private long totalBytes;
+
+    public ResponseCache(Path folder, long maxBytes) {
+
+        this.folder = folder;
+        this.objects = folder.resolve("objects");
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /**
+     * @return the stored response to the request, or null if there is none
+     */
+    public RecordedResponse get(String key) {
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return new RecordedResponse(entry.status, entry.headers, Files.readAllBytes(objectPath(entry.hash)));
+        } catch (NoSuchFileException e) {
+            // Removed to make room since the entry was read
+            return null;
+        } catch (IOException e) {
+            Logger.error("Unable to read cached response to " + key, e);
+            return null;
+        }
+    }
+
+    public synchronized void put(String key, RecordedResponse response) {
+
+        String hash = sha256(response.getBody());
+        Path object = objectPath(hash);
+        try {
+            if (!references.containsKey(hash)) {
+                Files.createDirectories(object.getParent());
+                Path temp = Files.createTempFile(object.getParent(), hash, ".tmp");
+                Files.write(temp, response.getBody());
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            Logger.error("Unable to cache response to " + key, e);
+            return;
+        }
+
+        // Referenced before the previous entry is released, in case they share the body
+        reference(hash, response.getBody().length);
+        Entry previous = entries.put(key,
+                new Entry(hash, response.getStatus(), response.getHeaders(), response.getBody().length));
+        if (previous != null) {
+            release(previous);
+        }
+        evict();
+    }
+
+    /**
+     * @return bytes of response bodies stored
+     */
+    public synchronized long getSize() {
+
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+
+        return entries.size();
+    }
+
+    /**
+     * Writes the index, in least recently used order, so the next run can replay the stored responses.
+     */
+    public synchronized void save() {
+
+        List<Map<String, Object>> index = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("key", key);
+            json.put("hash", entry.hash);
+            json.put("status", entry.status);
+            json.put("headers", entry.headers);
+            index.add(json);
+        });
+
+        try {
+            Files.createDirectories(folder);
+            Path temp = Files.createTempFile(folder, INDEX, ".tmp");
+            Files.write(temp, new Json().toJson(index).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, folder.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.error("Unable to save the response cache index to " + folder.toAbsolutePath(), e);
+        }
+    }
+
+    private void reference(String hash, long size) {
+
+        if (references.merge(hash, 1, Integer::sum) == 1) {
+            totalBytes += size;
+        }
+    }
+
+    private void release(Entry entry) {
+
+        if (references.merge(entry.hash, -1, Integer::sum) > 0) {
+            return;
+        }
+        references.remove(entry.hash);
+        totalBytes -= entry.size;
+        try {
+            Files.deleteIfExists(objectPath(entry.hash));
+        } catch (IOException e) {
+            Logger.error("Unable to remove cached response body " + entry.hash, e);
+        }
+    }
+
+    private void evict() {
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            release(entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+
+        Path index = folder.resolve(INDEX);
+        if (Files.exists(index)) {
+            try (Reader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8);
+                 JsonInput input = new Json().newInput(reader)) {
+                List<Map<String, Object>> stored = input.read(Json.LIST_OF_MAPS_TYPE);
+                for (Map<String, Object> json : stored) {
+                    String hash = (String) json.get("hash");
+                    Path object = objectPath(hash);
+                    if (Files.exists(object)) {
+                        long size = Files.size(object);
+                        entries.put((String) json.get("key"), new Entry(hash, ((Number) json.get("status")).intValue(),
+                                (Map<String, List<String>>) json.get("headers"), size));
+                        reference(hash, size);
+                    }
+                }
+            } catch (IOException | JsonException | ClassCastException e) {
+                Logger.error("Ignoring unreadable response cache index " + index.toAbsolutePath(), e);
+                entries.clear();
+                references.clear();
+                totalBytes = 0;
+            }
+        }
+        removeUnreferencedObjects();
+        evict();
+    }
+
+    // Bodies left behind by a run that stopped before saving the index
+    private void removeUnreferencedObjects() {
+
+        if (!Files.isDirectory(objects)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(objects)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !references.containsKey(file.getFileName().toString()))
+                    .forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            Logger.error("Unable to tidy the response cache in " + objects.toAbsolutePath(), e);
+        }
+    }
+
+    private Path objectPath(String hash) {
+
+        return objects.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    static String sha256(byte[] content) {
+
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+
+        private final String hash;
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final long size;
+
+        Entry(String hash, int status, Map<String, List<String>> headers, long size) {
+
+            this.hash = hash;
+            this.status = status;
+            this.headers = headers;
+            this.size = size;
+        }
+    }
+}
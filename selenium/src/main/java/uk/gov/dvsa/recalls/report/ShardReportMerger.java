@@ -0,0 +1,213 @@
+package uk.gov.dvsa.recalls.report;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of a suite split between several shards into one. Each shard's TestNG output folder, with the
+ * ReportNG xml and html folders in it, is expected in its own folder under the shards folder.
+ *
+ * The JUnit XML files of a test class split between shards are merged into one, with the counts added up, for CI to
+ * read. The ReportNG HTML cannot be rebuilt outside TestNG, so an index page lists the results of every class and
+ * failed test, and links to each shard's own report for the details.
+ */
+public class ShardReportMerger {
+
+    private static final String[] COUNTS = {"tests", "failures", "errors", "skipped"};
+
+    private final Path shardsFolder;
+    private final Path mergedFolder;
+    private final DocumentBuilder documentBuilder;
+
+    public ShardReportMerger(Path shardsFolder, Path mergedFolder) throws Exception {
+
+        this.shardsFolder = shardsFolder;
+        this.mergedFolder = mergedFolder;
+        this.documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ShardReportMerger <shards folder> <merged report folder>");
+        }
+        new ShardReportMerger(Paths.get(args[0]), Paths.get(args[1])).merge();
+        Logger.flush();
+    }
+
+    /**
+     * @return the merged testsuite element of each test class, by file name
+     */
+    public Map<String, Element> merge() throws Exception {
+
+        List<Path> shards = listFolders(shardsFolder);
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard reports found in " + shardsFolder);
+        }
+
+        Map<String, Element> suites = new TreeMap<>();
+        Document merged = documentBuilder.newDocument();
+        for (Path shard : shards) {
+            for (Path file : listFiles(shard.resolve("xml"), ".xml")) {
+                Element suite = documentBuilder.parse(file.toFile()).getDocumentElement();
+                Element mergedSuite = suites.get(file.getFileName().toString());
+                if (mergedSuite == null) {
+                    suites.put(file.getFileName().toString(), (Element) merged.importNode(suite, true));
+                } else {
+                    addSuite(mergedSuite, suite);
+                }
+            }
+        }
+
+        Path xmlFolder = Files.createDirectories(mergedFolder.resolve("xml"));
+        for (Map.Entry<String, Element> suite : suites.entrySet()) {
+            writeXml(suite.getValue(), xmlFolder.resolve(suite.getKey()));
+        }
+        writeIndex(shards, suites);
+
+        Logger.info(String.format("Merged the reports of %d shards into %s", shards.size(), mergedFolder));
+        return suites;
+    }
+
+    private void addSuite(Element mergedSuite, Element suite) {
+
+        for (String count : COUNTS) {
+            mergedSuite.setAttribute(count, String.valueOf(intValue(mergedSuite, count) + intValue(suite, count)));
+        }
+        double time = doubleValue(mergedSuite, "time") + doubleValue(suite, "time");
+        mergedSuite.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        for (int i = 0; i < testCases.getLength(); i++) {
+            mergedSuite.appendChild(mergedSuite.getOwnerDocument().importNode(testCases.item(i), true));
+        }
+    }
+
+    private void writeXml(Element suite, Path file) throws Exception {
+
+        Document document = documentBuilder.newDocument();
+        document.appendChild(document.importNode(suite, true));
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(document), new StreamResult(file.toFile()));
+    }
+
+    private void writeIndex(List<Path> shards, Map<String, Element> suites) throws IOException {
+
+        int tests = 0;
+        int failures = 0;
+        int skipped = 0;
+        StringBuilder rows = new StringBuilder();
+        for (Map.Entry<String, Element> entry : suites.entrySet()) {
+            // ReportNG names the suite after the TestNG test, and the file after the class
+            String testClass = entry.getKey().replaceFirst("(_results)?\\.xml$", "");
+            Element suite = entry.getValue();
+            tests += intValue(suite, "tests");
+            failures += intValue(suite, "failures") + intValue(suite, "errors");
+            skipped += intValue(suite, "skipped");
+            rows.append(String.format("<tr><td>%s</td><td>%d</td><td>%d</td><td>%d</td><td>%s</td></tr>%n",
+                    escape(testClass), intValue(suite, "tests"),
+                    intValue(suite, "failures") + intValue(suite, "errors"), intValue(suite, "skipped"),
+                    escape(suite.getAttribute("time"))));
+            rows.append(failedTests(suite));
+        }
+
+        StringBuilder links = new StringBuilder();
+        for (Path shard : shards) {
+            Path shardReport = shard.resolve("html").resolve("index.html");
+            if (Files.exists(shardReport)) {
+                links.append(String.format("<li><a href=\"%s\">%s</a></li>%n",
+                        escape(mergedFolder.toAbsolutePath().relativize(shardReport.toAbsolutePath()).toString()
+                                .replace('\\', '/')),
+                        escape(shard.getFileName().toString())));
+            }
+        }
+
+        String html = "<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Test results</title>\n"
+                + "<style>body{font-family:sans-serif} td,th{padding:2px 8px;text-align:left} .failed{color:#c00}</style>"
+                + "</head><body>\n"
+                + String.format("<h1>%d tests, %d failed, %d skipped, on %d shards</h1>%n",
+                tests, failures, skipped, shards.size())
+                + "<table>\n<tr><th>Test</th><th>Tests</th><th>Failed</th><th>Skipped</th><th>Time (s)</th></tr>\n"
+                + rows
+                + "</table>\n<h2>Shard reports</h2>\n<ul>\n" + links + "</ul>\n</body></html>\n";
+        Files.write(mergedFolder.resolve("index.html"), html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String failedTests(Element suite) {
+
+        StringBuilder failed = new StringBuilder();
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        for (int i = 0; i < testCases.getLength(); i++) {
+            Element testCase = (Element) testCases.item(i);
+            Node failure = testCase.getElementsByTagName("failure").item(0);
+            if (failure != null) {
+                failed.append(String.format("<tr class=\"failed\"><td colspan=\"5\">&nbsp;&nbsp;%s.%s: %s</td></tr>%n",
+                        escape(testCase.getAttribute("classname")), escape(testCase.getAttribute("name")),
+                        escape(((Element) failure).getAttribute("message"))));
+            }
+        }
+        return failed.toString();
+    }
+
+    private static int intValue(Element element, String attribute) {
+
+        String value = element.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Integer.parseInt(value.trim());
+    }
+
+    private static double doubleValue(Element element, String attribute) {
+
+        String value = element.getAttribute(attribute).replace(",", "").trim();
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+
+    private static String escape(String text) {
+
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static List<Path> listFolders(Path folder) throws IOException {
+
+        if (!Files.isDirectory(folder)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.list(folder)) {
+            return paths.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> listFiles(Path folder, String extension) throws IOException {
+
+        if (!Files.isDirectory(folder)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.list(folder)) {
+            return paths.filter(path -> path.toString().endsWith(extension)).sorted().collect(Collectors.toList());
+        }
+    }
+}
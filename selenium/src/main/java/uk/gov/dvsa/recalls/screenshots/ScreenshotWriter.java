@@ -0,0 +1,104 @@
+package uk.gov.dvsa.recalls.screenshots;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads failure page sources and writes them and the screenshots to disk on a background thread, so a failed test
+ * only pays for capturing the screenshot. Files are written in the order they were queued and optionally gzipped.
+ */
+public class ScreenshotWriter {
+
+    private static final ScreenshotWriter instance = new ScreenshotWriter(Configurator.isErrorScreenshotCompressed());
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final boolean compress;
+
+    private ScreenshotWriter(boolean compress) {
+
+        this.compress = compress;
+    }
+
+    public static ScreenshotWriter getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Queues a screenshot for writing to the given path, and the page source next to it with an .html extension.
+     *
+     * @param screenshot PNG bytes, or null if the browser cannot take screenshots
+     * @param pageSource reads the page source on the writer thread, or null if it is not wanted
+     * @return done once the page source has been read and both are written; the browser must stay on the page until
+     * then
+     */
+    public Future<?> write(String destinationPath, byte[] screenshot, Supplier<String> pageSource) {
+
+        Path screenshotPath = Paths.get(destinationPath);
+        Path pageSourcePath = Paths.get(destinationPath.replaceAll("\\.png$", "") + ".html");
+
+        return writer.submit(() -> {
+            if (screenshot != null) {
+                save(screenshotPath, screenshot);
+            }
+            if (pageSource != null) {
+                try {
+                    save(pageSourcePath, pageSource.get().getBytes(StandardCharsets.UTF_8));
+                } catch (RuntimeException e) {
+                    Logger.error("Error trying to read the page source for " + pageSourcePath, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until everything queued so far has been written.
+     */
+    public void flush() {
+
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.error("Unable to flush screenshots", e);
+        }
+    }
+
+    private void save(Path path, byte[] content) {
+
+        Path destination = compress ? Paths.get(path + ".gz") : path;
+        try {
+            Files.createDirectories(destination.toAbsolutePath().getParent());
+            try (OutputStream out = compress
+                    ? new GZIPOutputStream(Files.newOutputStream(destination, StandardOpenOption.CREATE_NEW))
+                    : Files.newOutputStream(destination, StandardOpenOption.CREATE_NEW)) {
+                out.write(content);
+            }
+            Logger.info("Saved to: " + destination.toAbsolutePath());
+        } catch (FileAlreadyExistsException e) {
+            Logger.info("Not overwriting: " + destination.toAbsolutePath());
+        } catch (IOException e) {
+            Logger.error("Error trying to save " + destination + ": " + e.getMessage(), e);
+        }
+    }
+}
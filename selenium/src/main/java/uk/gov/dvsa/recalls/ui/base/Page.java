@@ -1,16 +1,30 @@
 package uk.gov.dvsa.recalls.ui.base;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import uk.gov.dvsa.recalls.WebDriverConfiguratorRegistry;
+import uk.gov.dvsa.recalls.config.Configurator;
 import uk.gov.dvsa.recalls.config.webdriver.BaseAppDriver;
-import uk.gov.dvsa.recalls.elements.DvsaElementLocatorFactory;
 import uk.gov.dvsa.recalls.elements.DvsaWebElement;
+import uk.gov.dvsa.recalls.elements.ElementSnapshot;
 import uk.gov.dvsa.recalls.elements.FindElementLocator;
+import uk.gov.dvsa.recalls.elements.RetryPolicyRegistry;
+import uk.gov.dvsa.recalls.metrics.CommandMetrics;
+import uk.gov.dvsa.recalls.performance.BudgetMode;
+import uk.gov.dvsa.recalls.performance.PageLoadHistory;
+import uk.gov.dvsa.recalls.performance.PageTiming;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
+import uk.gov.dvsa.recalls.performance.PerformanceBudgets;
+import uk.gov.dvsa.recalls.waits.Waiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public abstract class Page {
 
@@ -30,10 +44,52 @@ public abstract class Page {
 
     public Page() {
 
+        CommandMetrics.enterPage(getClass());
         this.driver = WebDriverConfiguratorRegistry.get().getDriver();
-        DvsaElementLocatorFactory factory = new DvsaElementLocatorFactory(driver);
-        PageFactory.initElements(factory, this);
+        PageMetadata.of(getClass()).initElements(this, driver);
+        waitUntilReady();
         selfVerify();
+        checkPerformanceBudget();
+    }
+
+    /**
+     * Conditions that must hold before the page is verified and used. Pages add to these the elements that appear
+     * last, or that their first interaction depends on.
+     */
+    protected List<ExpectedCondition<?>> readinessConditions() {
+
+        List<ExpectedCondition<?>> conditions = new ArrayList<>();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.tagName("h1")));
+        return conditions;
+    }
+
+    private void waitUntilReady() {
+
+        Waiter waiter = new Waiter(driver);
+        for (ExpectedCondition<?> condition : readinessConditions()) {
+            waiter.until(getClass().getSimpleName() + " ready: " + condition, condition);
+        }
+    }
+
+    private void checkPerformanceBudget() {
+
+        if (Configurator.getBudgetMode() == BudgetMode.OFF) {
+            return;
+        }
+        PageTiming timing = driver.readPageTiming();
+        if (timing == null) {
+            return;
+        }
+        PageLoadHistory.record(getClass(), timing, WebDriverConfiguratorRegistry.get().isLeanBrowser());
+        PerformanceBudget budget = PageMetadata.of(getClass()).getPerformanceBudget();
+        if (budget != null) {
+            PerformanceBudgets.check(getClass(), budget, timing, Configurator.getBudgetMode());
+        }
+    }
+
+    protected <T> T waitUntil(String description, ExpectedCondition<T> condition) {
+
+        return new Waiter(driver).until(getClass().getSimpleName() + ": " + description, condition);
     }
 
     public String getTitle() {
@@ -68,48 +124,54 @@ public abstract class Page {
     }
 
 
+    protected List<ElementSnapshot> readElements(List<WebElement> elements, String... attributeNames) {
+
+        return driver.readElements(elements, attributeNames);
+    }
+
+    protected List<String> readTexts(List<WebElement> elements) {
+
+        return readElements(elements).stream().map(ElementSnapshot::getText).collect(Collectors.toList());
+    }
+
     protected String getElementText(By selector) {
 
-        try {
-            return driver.findElement(selector).getText();
-        } catch (StaleElementReferenceException ex) {
-            return getElementText(selector);
-        }
+        return retry(selector, () -> driver.findElement(selector).getText());
     }
 
     protected Boolean isElementVisible(By selector) {
 
-        try {
-            return driver.findElement(selector).isDisplayed();
-        } catch (StaleElementReferenceException ex) {
-            return isElementVisible(selector);
-        }
+        return retry(selector, () -> driver.findElement(selector).isDisplayed());
     }
 
     protected void clickElement(By selector) {
 
         try {
-            driver.findElement(selector).click();
-        } catch (StaleElementReferenceException ex) {
-            clickElement(selector);
+            retry(selector, () -> {
+                driver.findElement(selector).click();
+                return null;
+            });
+        } finally {
+            driver.interactionMayHaveNavigated();
         }
     }
 
     protected WebElement getElement(By selector) {
 
-        try {
-            return DvsaWebElement.wrap(driver.findElement(selector), new FindElementLocator(driver, selector));
-        } catch (StaleElementReferenceException ex) {
-            return getElement(selector);
-        }
+        return retry(selector, () -> DvsaWebElement.wrap(driver.findElement(selector),
+                new FindElementLocator(driver, selector), driver::interactionMayHaveNavigated));
     }
 
     protected String getLinkHref(By selector) {
 
-        try {
-            return driver.findElement(selector).getAttribute("href");
-        } catch (StaleElementReferenceException ex) {
-            return getLinkHref(selector);
-        }
+        return retry(selector, () -> driver.findElement(selector).getAttribute("href"));
+    }
+
+    /**
+     * Each attempt finds the element afresh, so there is nothing to recover between attempts.
+     */
+    private <T> T retry(By selector, Supplier<T> action) {
+
+        return RetryPolicyRegistry.get().call(selector.toString(), action, () -> { });
     }
 }
@@ -0,0 +1,183 @@
+package uk.gov.dvsa.recalls.ui.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import uk.gov.dvsa.recalls.elements.CacheElements;
+import uk.gov.dvsa.recalls.elements.DvsaElementLocatorFactory;
+import uk.gov.dvsa.recalls.elements.ElementProxies;
+import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * What PageFactory and PageNavigator would otherwise work out by reflection every time a page is created: the
+ * locators of its element fields, its {@link GotoUrl}, its {@link PerformanceBudget} and its constructor. Built once per page class.
+ */
+public class PageMetadata<T> {
+
+    private static final ConcurrentMap<Class<?>, PageMetadata<?>> registry = new ConcurrentHashMap<>();
+
+    private final Class<T> pageClass;
+    private final boolean cacheElements;
+    private final List<ElementField> elementFields;
+    private final MessageFormat gotoUrl;
+    private final Constructor<T> constructor;
+    private final PerformanceBudget performanceBudget;
+
+    private PageMetadata(Class<T> pageClass) {
+
+        this.pageClass = pageClass;
+        this.cacheElements = pageClass.isAnnotationPresent(CacheElements.class);
+        this.elementFields = findElementFields(pageClass);
+
+        GotoUrl url = pageClass.getAnnotation(GotoUrl.class);
+        this.gotoUrl = url == null ? null : new MessageFormat(url.value());
+
+        Constructor<T> noArgConstructor = null;
+        if (!Modifier.isAbstract(pageClass.getModifiers())) {
+            try {
+                noArgConstructor = pageClass.getDeclaredConstructor();
+                noArgConstructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                // Only pages with a no-argument constructor can be created from their class
+            }
+        }
+        this.constructor = noArgConstructor;
+        this.performanceBudget = pageClass.getAnnotation(PerformanceBudget.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PageMetadata<T> of(Class<T> pageClass) {
+
+        return (PageMetadata<T>) registry.computeIfAbsent(pageClass, type -> new PageMetadata<>(type));
+    }
+
+    /**
+     * Puts a lazily locating proxy in every element field of the page, as PageFactory.initElements does.
+     */
+    public void initElements(Object page, SearchContext searchContext) {
+
+        DvsaElementLocatorFactory factory = new DvsaElementLocatorFactory(searchContext, cacheElements);
+        ClassLoader loader = page.getClass().getClassLoader();
+
+        for (ElementField elementField : elementFields) {
+            Object proxy = elementField.list
+                    ? ElementProxies.list(loader, factory.createLocator(elementField.by, elementField.cacheLookup))
+                    : ElementProxies.element(loader, factory.createLocator(elementField.by, elementField.cacheLookup));
+            try {
+                elementField.field.set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to initialise " + elementField.field, e);
+            }
+        }
+    }
+
+    /**
+     * @return the path in the page's {@link GotoUrl}, with the parameters filled in
+     */
+    public String resolvePath(Object... params) {
+
+        if (gotoUrl == null) {
+            throw new PageInstanceNotFoundException(pageClass.getName() + " has no @GotoUrl");
+        }
+        // MessageFormat is not thread-safe, and a copy is cheaper than parsing the pattern again
+        return ((MessageFormat) gotoUrl.clone()).format(params);
+    }
+
+    /**
+     * @return the page's {@link PerformanceBudget}, or null if it has none
+     */
+    public PerformanceBudget getPerformanceBudget() {
+
+        return performanceBudget;
+    }
+
+    /**
+     * Creates the page, which waits for and verifies it. Exceptions thrown by the page are rethrown as they are.
+     */
+    public T newInstance() {
+
+        if (constructor == null) {
+            throw new PageInstanceNotFoundException(String.format("Could not create Page: %s", pageClass.getName()));
+        }
+
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new PageInstanceNotFoundException(String.format("Could not create Page: %s", pageClass.getName()));
+        }
+    }
+
+    private static List<ElementField> findElementFields(Class<?> pageClass) {
+
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                boolean list = isElementList(field);
+                if (list || WebElement.class.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    Annotations annotations = new Annotations(field);
+                    fields.add(new ElementField(field, annotations.buildBy(), annotations.isLookupCached(), list));
+                }
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    // The same lists DefaultFieldDecorator decorates: List<WebElement> with a locator annotation
+    private static boolean isElementList(Field field) {
+
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        if (!(type instanceof ParameterizedType)
+                || ((ParameterizedType) type).getActualTypeArguments()[0] != WebElement.class) {
+            return false;
+        }
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    private static class ElementField {
+
+        private final Field field;
+        private final By by;
+        private final boolean cacheLookup;
+        private final boolean list;
+
+        private ElementField(Field field, By by, boolean cacheLookup, boolean list) {
+
+            this.field = field;
+            this.by = by;
+            this.cacheLookup = cacheLookup;
+            this.list = list;
+        }
+    }
+}
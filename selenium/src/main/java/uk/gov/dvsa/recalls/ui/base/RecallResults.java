@@ -0,0 +1,33 @@
+package uk.gov.dvsa.recalls.ui.base;
+
+import java.util.List;
+
+/**
+ * Checks of a results or no results page that do not depend on how the page was loaded, so they can run against a
+ * browser or against a page fetched over plain HTTP.
+ */
+public interface RecallResults {
+
+    String NO_RECALLS_MESSAGE = "This vehicle has <b>no recalls.</b>";
+
+    String getHeaderText();
+
+    List<String> getRecallTitles();
+
+    String getPageSource();
+
+    default boolean headerContains(String text) {
+
+        return getHeaderText().toLowerCase().contains(text.toLowerCase());
+    }
+
+    default boolean recallTitleIsDisplayed(String recallTitle) {
+
+        return getRecallTitles().stream().anyMatch(title -> title.toLowerCase().contains(recallTitle.toLowerCase()));
+    }
+
+    default boolean hasNoRecallsMessage() {
+
+        return getPageSource().contains(NO_RECALLS_MESSAGE);
+    }
+}
@@ -1,17 +1,23 @@
 package uk.gov.dvsa.recalls.ui.page;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import uk.gov.dvsa.recalls.elements.CacheElements;
 import uk.gov.dvsa.recalls.helper.FormDataHelper;
 import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
-import uk.gov.dvsa.recalls.ui.base.PageInstanceNotFoundException;
+import uk.gov.dvsa.recalls.ui.base.PageMetadata;
 
+import java.util.List;
+
+@CacheElements
+@PerformanceBudget(ttfb = 1000, domContentLoaded = 2000, load = 3000, transferBytes = 500_000)
 public class EnterYearPage extends Page {
-    private WebDriverWait wait = new WebDriverWait(driver, 5);
     @FindBy(id = "continue-button") private WebElement continueButton;
     @FindBy(id = "year") private WebElement manufactureYearField;
     @FindBy(className = "error-message") private WebElement errorMessage;
@@ -27,14 +33,16 @@ public class EnterYearPage extends Page {
         return "What year was the vehicle made?";
     }
 
+    @Override protected List<ExpectedCondition<?>> readinessConditions() {
+        List<ExpectedCondition<?>> conditions = super.readinessConditions();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.id("year")));
+        return conditions;
+    }
+
     public Page enterYearAndContinue(String year, Class<? extends Page> clazz) {
         FormDataHelper.enterText(manufactureYearField, year);
         clickContinueButtonWhenReady();
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new PageInstanceNotFoundException(String.format("Could not create a Results Page: %s", clazz.getName()));
-        }
+        return PageMetadata.of(clazz).newInstance();
     }
 
     public boolean enterYearAndExpectError(String year, String error) {
@@ -45,15 +53,11 @@ public class EnterYearPage extends Page {
 
     private void clickContinueButtonWhenReady() {
         title.click(); // Click some text to close a dropdown which might be obscuring the button
-        wait.until(ExpectedConditions.elementToBeClickable(continueButton)).click();
+        waitUntil("continue button clickable", ExpectedConditions.elementToBeClickable(continueButton)).click();
     }
 
     public SelectModelPage clickBackButton(Class<? extends SelectModelPage> clazz) {
         backButton.click();
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new PageInstanceNotFoundException(String.format("Could not create a Make Page: %s", clazz.getName()));
-        }
+        return PageMetadata.of(clazz).newInstance();
     }
 }
@@ -0,0 +1,38 @@
+package uk.gov.dvsa.recalls.ui.page;
+
+import uk.gov.dvsa.recalls.navigation.HttpPage;
+import uk.gov.dvsa.recalls.ui.base.RecallResults;
+
+import java.util.List;
+
+/**
+ * The results or no results page as fetched over HTTP, for checks that do not need a browser.
+ */
+public class HttpResultsPage implements RecallResults {
+
+    private final HttpPage page;
+
+    public HttpResultsPage(HttpPage page) {
+
+        this.page = page;
+    }
+
+    @Override
+    public String getHeaderText() {
+
+        String header = page.getTextById("vehicle-or-component-title");
+        return header == null ? "" : header;
+    }
+
+    @Override
+    public List<String> getRecallTitles() {
+
+        return page.getTextsBySelector(".recall-title");
+    }
+
+    @Override
+    public String getPageSource() {
+
+        return page.getBody();
+    }
+}
@@ -1,18 +1,29 @@
 package uk.gov.dvsa.recalls.ui.page;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import uk.gov.dvsa.recalls.elements.CacheElements;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
 import uk.gov.dvsa.recalls.ui.base.PageIdentityVerificationException;
-import uk.gov.dvsa.recalls.ui.base.PageInstanceNotFoundException;
+import uk.gov.dvsa.recalls.ui.base.PageMetadata;
+import uk.gov.dvsa.recalls.ui.base.RecallResults;
 
-public class NoResultsPage extends Page {
+import java.util.Collections;
+import java.util.List;
+
+@CacheElements
+@PerformanceBudget(ttfb = 1500, domContentLoaded = 2500, load = 3500, transferBytes = 500_000)
+public class NoResultsPage extends Page implements RecallResults {
     @FindBy(id = "vehicle-or-component-title") private WebElement header;
     @FindBy(className = "link-back") private WebElement backButton;
     @FindBy(id = "link-home") private WebElement homeLink;
 
     @Override protected void selfVerify() {
-        if (!driver.getPageSource().contains("This vehicle has <b>no recalls.</b>")) {
+        if (!hasNoRecallsMessage()) {
             throw new PageIdentityVerificationException(
                     "Page identity verification failed: \n Page does not contain no recalls message"
             );
@@ -31,17 +42,27 @@ public class NoResultsPage extends Page {
         return ""; // Page title has no static text - it is completely dynamic
     }
 
-    public boolean headerContains(String text) {
-        return header.isDisplayed() && header.getText().toLowerCase().contains(text.toLowerCase());
+    @Override protected List<ExpectedCondition<?>> readinessConditions() {
+        List<ExpectedCondition<?>> conditions = super.readinessConditions();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.id("vehicle-or-component-title")));
+        return conditions;
+    }
+
+    @Override public String getHeaderText() {
+        return header.isDisplayed() ? header.getText() : "";
+    }
+
+    @Override public List<String> getRecallTitles() {
+        return Collections.emptyList();
+    }
+
+    @Override public String getPageSource() {
+        return driver.getPageSource();
     }
 
     public Page clickBackButton(Class<? extends Page> clazz) {
         backButton.click();
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new PageInstanceNotFoundException(String.format("Could not create Page: %s", clazz.getName()));
-        }
+        return PageMetadata.of(clazz).newInstance();
     }
 
     public RecallInformationSearchPage clickHomeLink() {
@@ -4,11 +4,13 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
 
 import static org.testng.Assert.assertFalse;
 
 @GotoUrl("/recall-type")
+@PerformanceBudget(ttfb = 1000, domContentLoaded = 2000, load = 3000, transferBytes = 500_000)
 public class RecallInformationSearchPage extends Page {
 
     @FindBy(id = "csv-data-link") private WebElement csvDataLink;
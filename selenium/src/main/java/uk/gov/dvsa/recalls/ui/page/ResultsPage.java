@@ -1,20 +1,25 @@
 package uk.gov.dvsa.recalls.ui.page;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import uk.gov.dvsa.recalls.elements.CacheElements;
 import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
 import uk.gov.dvsa.recalls.ui.base.PageIdentityVerificationException;
-import uk.gov.dvsa.recalls.ui.base.PageInstanceNotFoundException;
+import uk.gov.dvsa.recalls.ui.base.PageMetadata;
+import uk.gov.dvsa.recalls.ui.base.RecallResults;
 
+import java.util.Collections;
 import java.util.List;
 
-public class ResultsPage extends Page {
-    WebDriverWait wait = new WebDriverWait(driver, 5);
-
+@CacheElements
+@PerformanceBudget(ttfb = 1500, domContentLoaded = 2500, load = 3500, transferBytes = 750_000)
+public class ResultsPage extends Page implements RecallResults {
     @FindBy(id = "vehicle-or-component-title") private WebElement header;
     @FindBy(id = "search-again") private WebElement searchAgainButton;
     @FindBy(className = "recall-title") private List<WebElement> recallTitleHeaderList;
@@ -37,22 +42,22 @@ public class ResultsPage extends Page {
         return ""; // Page title has no static text - it is completely dynamic
     }
 
-    public boolean headerContains(String text) {
-        return header.isDisplayed() && header.getText().toLowerCase().contains(text.toLowerCase());
+    @Override protected List<ExpectedCondition<?>> readinessConditions() {
+        List<ExpectedCondition<?>> conditions = super.readinessConditions();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.id("vehicle-or-component-title")));
+        return conditions;
     }
 
-    public boolean recallTitleIsDisplayed(String recallTitle) {
-        return !recallTitleHeaderList.isEmpty() && isRecallTitlePresentInRecallList(recallTitleHeaderList, recallTitle);
+    @Override public String getHeaderText() {
+        return header.isDisplayed() ? header.getText() : "";
     }
 
-    private boolean isRecallTitlePresentInRecallList(List<WebElement> recallTitleHeaderList, String recallTitle) {
-        for (WebElement recallTitleHeader : recallTitleHeaderList) {
-            if (recallTitleHeader.getText().toLowerCase().contains(recallTitle.toLowerCase())) {
-                return true;
-            }
-        }
+    @Override public List<String> getRecallTitles() {
+        return recallTitleHeaderList.isEmpty() ? Collections.emptyList() : readTexts(recallTitleHeaderList);
+    }
 
-        return false;
+    @Override public String getPageSource() {
+        return driver.getPageSource();
     }
 
     public void clickTheFirstRecallAccordion() {
@@ -60,7 +65,7 @@ public class ResultsPage extends Page {
     }
 
     public boolean isHowToCheckSentenceValid(String recallType) {
-        wait.until(ExpectedConditions.visibilityOf(howToCheckRecallType.get(0)));
+        waitUntil("how to check sentence visible", ExpectedConditions.visibilityOf(howToCheckRecallType.get(0)));
         return howToCheckRecallType.get(0).getText().contains(
                 String.format("How to check if the %s is recalled", recallType)
         );
@@ -75,11 +80,7 @@ public class ResultsPage extends Page {
 
     public Page clickBackButton(Class<? extends Page> clazz) {
         backButton.click();
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new PageInstanceNotFoundException(String.format("Could not create a Model Page: %s", clazz.getName()));
-        }
+        return PageMetadata.of(clazz).newInstance();
     }
 
     public RecallInformationSearchPage clickSearchAgainButton() {
@@ -1,17 +1,21 @@
 package uk.gov.dvsa.recalls.ui.page;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import uk.gov.dvsa.recalls.helper.FormDataHelper;
 import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
 
+import java.util.List;
+
+@PerformanceBudget(ttfb = 1000, domContentLoaded = 2000, load = 3000, transferBytes = 500_000)
 public abstract class SelectMakePage extends Page {
 
-    private WebDriverWait wait = new WebDriverWait(driver, 5);
     @FindBy(id = "csv-data-link") private WebElement csvDataLink;
     @FindBy(id = "data-guide-link") private WebElement dataGuideLink;
     @FindBy(id = "continue-button") private WebElement continueButton;
@@ -23,11 +27,17 @@ public abstract class SelectMakePage extends Page {
     @Override
     protected abstract String getExpectedPageTitle();
 
+    @Override protected List<ExpectedCondition<?>> readinessConditions() {
+        List<ExpectedCondition<?>> conditions = super.readinessConditions();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.id("make")));
+        return conditions;
+    }
+
     public abstract SelectModelPage selectMakeAndContinue(String make);
 
     private void clickContinueButtonWhenReady() {
         title.click(); // Click some text to close a dropdown which might be obscuring the button
-        wait.until(ExpectedConditions.elementToBeClickable(continueButton)).click();
+        waitUntil("continue button clickable", ExpectedConditions.elementToBeClickable(continueButton)).click();
     }
 
     public void clickContinueWithNoOptionsSelected() {
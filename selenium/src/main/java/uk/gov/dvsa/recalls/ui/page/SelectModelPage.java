@@ -1,18 +1,22 @@
 package uk.gov.dvsa.recalls.ui.page;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import uk.gov.dvsa.recalls.helper.FormDataHelper;
 import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.performance.PerformanceBudget;
 import uk.gov.dvsa.recalls.ui.base.Page;
-import uk.gov.dvsa.recalls.ui.base.PageInstanceNotFoundException;
+import uk.gov.dvsa.recalls.ui.base.PageMetadata;
 
+import java.util.List;
+
+@PerformanceBudget(ttfb = 1000, domContentLoaded = 2000, load = 3000, transferBytes = 500_000)
 public abstract class SelectModelPage extends Page {
 
-    private WebDriverWait wait = new WebDriverWait(driver, 5);
     @FindBy(id = "continue-button") private WebElement continueButton;
     @FindBy(id = "model") WebElement vehicleModelDropdown;
     @FindBy(className = "error-message") private WebElement errorMessage;
@@ -22,6 +26,12 @@ public abstract class SelectModelPage extends Page {
     @Override
     protected abstract String getExpectedPageTitle();
 
+    @Override protected List<ExpectedCondition<?>> readinessConditions() {
+        List<ExpectedCondition<?>> conditions = super.readinessConditions();
+        conditions.add(ExpectedConditions.presenceOfElementLocated(By.id("model")));
+        return conditions;
+    }
+
     public abstract Page selectModelAndContinue(String model);
 
     void selectModelAndContinueCommon(String model) {
@@ -31,7 +41,7 @@ public abstract class SelectModelPage extends Page {
 
     void clickContinueButtonWhenReady() {
         title.click(); // Click some text to close a dropdown which might be obscuring the button
-        wait.until(ExpectedConditions.elementToBeClickable(continueButton)).click();
+        waitUntil("continue button clickable", ExpectedConditions.elementToBeClickable(continueButton)).click();
     }
 
     public void clickContiniueWithNoOptionsSelected() {
@@ -45,11 +55,7 @@ public abstract class SelectModelPage extends Page {
 
     public SelectMakePage clickBackButton(Class<? extends SelectMakePage> clazz) {
         backButton.click();
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new PageInstanceNotFoundException(String.format("Could not create a Make Page: %s", clazz.getName()));
-        }
+        return PageMetadata.of(clazz).newInstance();
     }
 
     public RecallNotListedPage clickWhyModelIsNotListedLink() {
@@ -0,0 +1,52 @@
+package uk.gov.dvsa.recalls.waits;
+
+import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Time spent waiting, in milliseconds, per condition.
+ */
+public class WaitStatistics {
+
+    private static final Map<String, LatencyHistogram> waits = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> timeouts = new ConcurrentHashMap<>();
+
+    static void record(String condition, long millis) {
+
+        waits.computeIfAbsent(condition, key -> new LatencyHistogram()).record(millis);
+    }
+
+    static void timedOut(String condition, long millis) {
+
+        Logger.error(String.format("Gave up after %d ms waiting for %s", millis, condition));
+        timeouts.computeIfAbsent(condition, key -> new LongAdder()).increment();
+    }
+
+    public static String summary() {
+
+        if (waits.isEmpty() && timeouts.isEmpty()) {
+            return "Waits: none";
+        }
+
+        String met = waits.entrySet().stream()
+                .sorted((a, b) -> Double.compare(total(b.getValue()), total(a.getValue())))
+                .map(entry -> String.format("\n %6d waits, total %8.0f ms, p95 %6d ms, max %6d ms  %s",
+                        entry.getValue().getCount(), total(entry.getValue()), entry.getValue().getPercentile(95),
+                        entry.getValue().getMax(), entry.getKey()))
+                .collect(Collectors.joining());
+        String timedOut = timeouts.entrySet().stream()
+                .map(entry -> String.format("\n %6d timeouts  %s", entry.getValue().sum(), entry.getKey()))
+                .collect(Collectors.joining());
+        return "Waits:" + met + timedOut;
+    }
+
+    private static double total(LatencyHistogram histogram) {
+
+        return histogram.getMean() * histogram.getCount();
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.dvsa.recalls.waits;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one place tests wait for the browser. There is no implicit wait, so a lookup that is not wrapped in a wait
+ * returns or fails straight away, which keeps checks for absent elements fast.
+ *
+ * Conditions are polled often at first, when most of them are already met, and less often the longer they take,
+ * up to the maximum interval. The time spent waiting is recorded per condition in {@link WaitStatistics}.
+ */
+public class Waiter {
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+
+    public Waiter(WebDriver driver) {
+
+        this(driver, TimeUnit.SECONDS.toMillis(Configurator.getWaitTimeout()), Configurator.getWaitInitialPoll(),
+                Configurator.getWaitMaxPoll());
+    }
+
+    public Waiter(WebDriver driver, long timeoutMillis, long initialPollMillis, long maxPollMillis) {
+
+        this.driver = driver;
+        this.timeoutMillis = timeoutMillis;
+        this.initialPollMillis = Math.max(1, initialPollMillis);
+        this.maxPollMillis = Math.max(this.initialPollMillis, maxPollMillis);
+    }
+
+    /**
+     * Waits until the condition returns something other than null or false. Missing and stale elements count as the
+     * condition not being met yet.
+     *
+     * @param description what is being waited for, used to group the statistics and in the timeout message
+     * @return the last value returned by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(String description, ExpectedCondition<T> condition) {
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long poll = initialPollMillis;
+        RuntimeException lastException = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitStatistics.record(description, elapsedMillis(start));
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                WaitStatistics.timedOut(description, elapsedMillis(start));
+                throw new TimeoutException(String.format("Timed out after %d ms waiting for %s",
+                        elapsedMillis(start), description), lastException);
+            }
+
+            sleep(Math.min(poll, remaining));
+            poll = Math.min(poll * 2, maxPollMillis);
+        }
+    }
+
+    /**
+     * Waits for a condition described by its own {@code toString}, as the conditions in
+     * {@link org.openqa.selenium.support.ui.ExpectedConditions} that take a locator are.
+     */
+    public <T> T until(ExpectedCondition<T> condition) {
+
+        return until(condition.toString(), condition);
+    }
+
+    private static long elapsedMillis(long start) {
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+}
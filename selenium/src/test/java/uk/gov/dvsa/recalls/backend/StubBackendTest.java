@@ -0,0 +1,118 @@
+package uk.gov.dvsa.recalls.backend;
+
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StubBackendTest {
+
+    private StubBackend backend;
+
+    @BeforeClass
+    public void startBackend() throws IOException {
+
+        backend = new StubBackend(BackendFixtures.load(Configurator.getBackendFixtures()), 0, 0);
+        backend.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopBackend() {
+
+        if (backend != null) {
+            backend.stop();
+        }
+    }
+
+    @Test
+    public void servesMakesAndModelsOfARecallType() {
+
+        assertTrue(list(get("/recall-type/vehicle/make")).contains("OUGHTRED & HARRISON"));
+        assertEquals(list(get("/recall-type/equipment/make/COOPER/model")),
+                Arrays.asList("LT285/75R16", "LT285/75R16 COOPER DISCOVERER S/T"));
+        assertEquals(list(get("/recall-type/vehicle/make/UNKNOWN/model")), Arrays.asList());
+    }
+
+    @Test
+    public void decodesPathsEncodedTheWayTheFrontendDoes() {
+
+        // encodeURIComponent for each parameter, then encodeURI for the whole path
+        String make = encode("OUGHTRED & HARRISON").replace("%", "%25");
+        String model = encode("BERLINGO AMBULANCE").replace("%", "%25");
+
+        List<Object> recalls = list(get("/recall-type/vehicle/make/" + make + "/model/" + model + "/recalls"));
+
+        assertEquals(recalls.size(), 1);
+        assertEquals(((Map<?, ?>) recalls.get(0)).get("concern"), "REAR AXLE SECURING BOLTS LOOSE OR MISSING");
+        assertEquals(list(get("/recall-type/equipment/make/COOPER/model/" + encode("LT285/75R16").replace("%", "%25")
+                + "/recalls")).size(), 1);
+    }
+
+    @Test
+    public void filtersRecallsByYearOfManufacture() {
+
+        String path = "/recall-type/vehicle/make/" + encode("OUGHTRED & HARRISON") + "/model/"
+                + encode("BERLINGO AMBULANCE") + "/year/";
+
+        assertEquals(list(get(path + "2017/recalls")).size(), 1);
+        assertEquals(list(get(path + "2000/recalls")).size(), 0);
+        // Without a build range, vehicles made up to the year the recall was launched
+        assertEquals(list(get("/recall-type/vehicle/make/" + encode("DENNIS EAGLE") + "/model/ELITE/year/2012/recalls"))
+                .size(), 1);
+        assertEquals(list(get("/recall-type/vehicle/make/" + encode("DENNIS EAGLE") + "/model/ELITE/year/2013/recalls"))
+                .size(), 0);
+    }
+
+    @Test
+    public void answersUnknownRoutesWithNotFound() throws IOException {
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(backend.getUrl() + "/recalls").openConnection();
+
+        assertEquals(connection.getResponseCode(), 404);
+    }
+
+    private String get(String path) {
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(backend.getUrl() + path).openConnection();
+            assertEquals(connection.getResponseCode(), 200, path);
+            try (InputStream in = connection.getInputStream(); Scanner scanner = new Scanner(in, "UTF-8")) {
+                return scanner.useDelimiter("\\A").next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Object> list(String json) {
+
+        return new Json().toType(json, List.class);
+    }
+
+    private static String encode(String value) {
+
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name()).replace("+", "%20");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
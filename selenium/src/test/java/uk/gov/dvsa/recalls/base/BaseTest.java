@@ -5,21 +5,24 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 
-import uk.gov.dvsa.recalls.WebDriverConfigurator;
 import uk.gov.dvsa.recalls.WebDriverConfiguratorRegistry;
 import uk.gov.dvsa.recalls.config.Configurator;
 import uk.gov.dvsa.recalls.config.TestExecutionListener;
 import uk.gov.dvsa.recalls.config.webdriver.BaseAppDriver;
+import uk.gov.dvsa.recalls.config.webdriver.LeanBrowser;
 import uk.gov.dvsa.recalls.helper.Recall;
-import uk.gov.dvsa.recalls.logging.Logger;
 
-import java.util.Date;
+import java.time.LocalDateTime;
 
 @Listeners(TestExecutionListener.class)
 public abstract class BaseTest {
 
-    protected Recall recalls = new Recall();
-    protected BaseAppDriver driver = null;
+    // Journeys that do not depend on JavaScript and can run on HtmlUnit
+    protected static final String NO_JS = "nojs";
+
+    // TestNG shares one instance of a test class between threads when running methods in parallel
+    private final ThreadLocal<Recall> recalls = ThreadLocal.withInitial(Recall::new);
+    private final ThreadLocal<BaseAppDriver> driver = new ThreadLocal<>();
 
     private static String buildScreenShotPath(ITestResult result) {
 
@@ -29,38 +32,44 @@ public abstract class BaseTest {
                 dir,
                 result.getTestClass().getName().replace("uk.gov.dvsa.recalls", ""),
                 result.getName(),
-                Configurator.getScreenshotDateFormat().format(new Date())
+                Configurator.getScreenshotDateFormat().format(LocalDateTime.now())
         );
     }
 
+    protected Recall recalls() {
+
+        return recalls.get();
+    }
+
+    protected BaseAppDriver getDriver() {
+
+        return driver.get();
+    }
+
     @BeforeMethod(alwaysRun = true)
     public void setupBaseTest() {
 
-        driver = WebDriverConfiguratorRegistry.get().getDriver();
-        driver.setBaseUrl(Configurator.baseUrl());
+        BaseAppDriver leasedDriver = WebDriverConfiguratorRegistry.get(isLeanBrowser()).getDriver();
+        leasedDriver.setBaseUrl(Configurator.baseUrl());
+        driver.set(leasedDriver);
+    }
+
+    private boolean isLeanBrowser() {
+
+        LeanBrowser lean = getClass().getAnnotation(LeanBrowser.class);
+        return lean != null ? lean.value() : Configurator.isLeanBrowserEnabled();
     }
 
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
 
-        if (result.isSuccess()) {
-            if (null != driver) {
-                driver.manage().deleteAllCookies();
-            }
-        } else {
-            WebDriverConfigurator cachedDriver = WebDriverConfiguratorRegistry.get();
-
-            // Take screenshot on test failure
-            if (cachedDriver != null && result.getStatus() == ITestResult.FAILURE && Configurator.isErrorScreenshotEnabled()) {
-                driver.takeScreenShot(buildScreenShotPath(result));
-            }
-
-            if (null != cachedDriver) {
-                Logger.error("Tearing down webdriver because of test failure");
-                cachedDriver.destroy();
-                WebDriverConfiguratorRegistry.clear();
-            }
-            driver = null;
+        // Take screenshot on test failure
+        if (null != getDriver() && result.getStatus() == ITestResult.FAILURE && Configurator.isErrorScreenshotEnabled()) {
+            getDriver().takeScreenShot(buildScreenShotPath(result));
         }
+
+        // The browser is reset and reused after a failed assertion; only a lost session means starting a new one
+        WebDriverConfiguratorRegistry.release(result.getThrowable());
+        driver.remove();
     }
 }
@@ -0,0 +1,66 @@
+package uk.gov.dvsa.recalls.config;
+
+import org.openqa.selenium.Platform;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.config.Configurator.SeleniumGrid;
+import uk.gov.dvsa.recalls.logging.Level;
+
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void parsesValuesIntoTypes() {
+
+        Properties props = validProperties();
+        props.setProperty("test.browserName", " Chrome ");
+        props.setProperty("test.log.level", "debug");
+
+        ConfigSnapshot config = new ConfigSnapshot(props, null);
+
+        assertEquals(config.browser, Browser.CHROME);
+        assertEquals(config.platform, Platform.LINUX);
+        assertEquals(config.gridStatus, SeleniumGrid.NONE);
+        assertNull(config.gridUrl);
+        assertEquals(config.logLevel, Level.DEBUG);
+        assertEquals(config.driverPoolSize, 4);
+        assertEquals(config.buildNumber, "");
+    }
+
+    @Test
+    public void reportsEveryInvalidValueAtOnce() {
+
+        Properties props = validProperties();
+        props.setProperty("test.browserName", "netscape");
+        props.setProperty("test.gridEnabled", "selenium");
+        props.setProperty("test.wait.timeout", "soon");
+
+        try {
+            new ConfigSnapshot(props, null);
+            fail("invalid configuration was accepted");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("test.browserName"), e.getMessage());
+            assertTrue(e.getMessage().contains("test.gridUrl"), e.getMessage());
+            assertTrue(e.getMessage().contains("test.wait.timeout"), e.getMessage());
+        }
+    }
+
+    private Properties validProperties() {
+
+        Properties props = new Properties();
+        props.setProperty("test.baseUrl", "http://localhost:3000");
+        props.setProperty("test.browserName", "firefox");
+        props.setProperty("test.platform", "linux");
+        props.setProperty("test.gridEnabled", "false");
+        props.setProperty("test.gridUrl", "");
+        props.setProperty("test.threadCount", "4");
+        props.setProperty("test.pool.size", "");
+        return props;
+    }
+}
@@ -0,0 +1,117 @@
+package uk.gov.dvsa.recalls.config;
+
+import org.testng.IMethodInstance;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * How the tests are split between shards, with stand-ins for the TestNG methods of a test class.
+ */
+public class ShardInterceptorTest {
+
+    private static final int SHARD_COUNT = 3;
+
+    @Test
+    public void everyTestRunsOnTheShardThatOwnsIt() throws Exception {
+
+        List<IMethodInstance> methods = methods();
+        Set<String> assigned = new HashSet<>();
+        int total = 0;
+
+        for (int index = 0; index < SHARD_COUNT; index++) {
+            Shard shard = new Shard(index, SHARD_COUNT);
+            for (IMethodInstance method : new ShardInterceptor(shard).intercept(methods, null)) {
+                String name = DurationBalancingInterceptor.testName(method.getMethod());
+                if (!name.endsWith("searchMatrix")) {
+                    assertTrue(shard.owns(name), name + " ran on shard " + shard);
+                    assigned.add(name);
+                    total++;
+                }
+            }
+        }
+
+        assertEquals(total, methods.size() - 1, "every test should run on exactly one shard");
+        assertEquals(assigned.size(), methods.size() - 1);
+    }
+
+    @Test
+    public void testsShardedByDataRunOnEveryShard() throws Exception {
+
+        List<IMethodInstance> methods = methods();
+        for (int index = 0; index < SHARD_COUNT; index++) {
+            List<IMethodInstance> owned = new ShardInterceptor(new Shard(index, SHARD_COUNT)).intercept(methods, null);
+            assertTrue(owned.stream().anyMatch(method -> method.getMethod().getMethodName().equals("searchMatrix")));
+        }
+    }
+
+    @Test
+    public void aSingleShardRunsEverything() throws Exception {
+
+        List<IMethodInstance> methods = methods();
+        assertSame(new ShardInterceptor(new Shard(0, 1)).intercept(methods, null), methods);
+    }
+
+    private static List<IMethodInstance> methods() throws Exception {
+
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            methods.add(methodInstance("journey" + i, SampleTests.class.getMethod("journey")));
+        }
+        methods.add(methodInstance("searchMatrix", SampleTests.class.getMethod("searchMatrix")));
+        return methods;
+    }
+
+    private static IMethodInstance methodInstance(String name, Method method) {
+
+        ITestClass testClass = proxy(ITestClass.class, (methodName) ->
+                methodName.equals("getName") ? SampleTests.class.getName() : null);
+        ITestNGMethod testMethod = proxy(ITestNGMethod.class, (methodName) -> {
+            switch (methodName) {
+                case "getMethodName":
+                    return name;
+                case "getTestClass":
+                    return testClass;
+                case "getConstructorOrMethod":
+                    return new ConstructorOrMethod(method);
+                default:
+                    return null;
+            }
+        });
+        return proxy(IMethodInstance.class, (methodName) -> methodName.equals("getMethod") ? testMethod : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Function<String, Object> answers) {
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getName().equals("toString")
+                        ? type.getSimpleName()
+                        : answers.apply(method.getName()));
+    }
+
+    public static class SampleTests {
+
+        public void journey() {
+
+        }
+
+        @ShardedByData
+        public void searchMatrix() {
+
+        }
+    }
+}
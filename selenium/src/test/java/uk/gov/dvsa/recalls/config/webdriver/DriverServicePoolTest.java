@@ -0,0 +1,171 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.remote.service.DriverService;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Leasing, releasing and discarding single-session driver services, with fake services that only track whether they
+ * are running and have a session open.
+ */
+public class DriverServicePoolTest {
+
+    private List<FakeDriverService> created;
+    private DriverServicePool<FakeDriverService> pool;
+
+    @BeforeMethod
+    public void createPool() {
+
+        created = new ArrayList<>();
+        pool = new DriverServicePool<>(this::create, service -> service.running && !service.sessionOpen);
+    }
+
+    @Test
+    public void serviceReleasedAfterQuitIsLeasedAgain() {
+
+        FakeDriverService service = pool.lease();
+        pool.release(service);
+
+        assertSame(pool.lease(), service);
+        assertEquals(created.size(), 1);
+        assertFalse(service.stopped);
+    }
+
+    @Test
+    public void discardedServiceIsStoppedAndReplaced() {
+
+        FakeDriverService service = pool.lease();
+        service.sessionOpen = true;
+        pool.discard(service);
+
+        assertTrue(service.stopped);
+        assertNotSame(pool.lease(), service);
+        assertEquals(created.size(), 2);
+    }
+
+    @Test
+    public void serviceReleasedWithItsSessionOpenIsNotLeasedAgain() {
+
+        FakeDriverService service = pool.lease();
+        service.sessionOpen = true;
+        pool.release(service);
+
+        assertTrue(service.stopped);
+        assertNotSame(pool.lease(), service);
+    }
+
+    @Test
+    public void idleServiceThatStoppedRunningIsReplacedOnLease() {
+
+        FakeDriverService service = pool.lease();
+        pool.release(service);
+        service.running = false;
+
+        FakeDriverService leased = pool.lease();
+
+        assertNotSame(leased, service);
+        assertTrue(service.stopped);
+        assertTrue(leased.running);
+    }
+
+    @Test
+    public void stopAllStopsLeasedAndIdleServices() {
+
+        FakeDriverService leased = pool.lease();
+        FakeDriverService idle = pool.lease();
+        pool.release(idle);
+
+        assertEquals(pool.stopAll(), 2);
+        assertTrue(leased.stopped);
+        assertTrue(idle.stopped);
+        assertNotSame(pool.lease(), idle);
+    }
+
+    @Test
+    public void statusCheckTellsAnOpenSessionFromAnIdleDriver() throws IOException {
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        String[] status = {"{\"value\": {\"message\": \"\", \"ready\": true}}"};
+        server.createContext("/status", exchange -> {
+            byte[] body = status[0].getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            FakeDriverService service = new FakeDriverService(server.getAddress().getPort());
+            service.running = true;
+            assertTrue(DriverServices.hasNoSession(service));
+
+            status[0] = "{\"value\": {\"message\": \"Session already started\", \"ready\": false}}";
+            assertFalse(DriverServices.hasNoSession(service));
+
+            service.running = false;
+            assertFalse(DriverServices.hasNoSession(service));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private FakeDriverService create() {
+
+        try {
+            FakeDriverService service = new FakeDriverService(0);
+            created.add(service);
+            return service;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class FakeDriverService extends DriverService {
+
+        private volatile boolean running;
+        private volatile boolean sessionOpen;
+        private volatile boolean stopped;
+
+        FakeDriverService(int port) throws IOException {
+
+            super(new File("fake-driver"), port, ImmutableList.of(), ImmutableMap.of());
+        }
+
+        @Override
+        public boolean isRunning() {
+
+            return running;
+        }
+
+        @Override
+        public void start() {
+
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+
+            running = false;
+            stopped = true;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.elements.ElementSnapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Reads that rely on scripts, run in-process on HtmlUnit with JavaScript disabled, as in the nojs journeys.
+ */
+public class HtmlUnitAppDriverTest {
+
+    private static final String PAGE = "<html><body>"
+            + "<h2 class=\"title\" id=\"first\"> Brakes </h2><h2 class=\"title\" id=\"second\">Airbags</h2>"
+            + "</body></html>";
+
+    private HttpServer server;
+    private HtmlUnitAppDriver driver;
+
+    @BeforeMethod
+    public void openPage() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        driver = new HtmlUnitAppDriver(new HtmlUnitDriver(BrowserVersion.FIREFOX_60, false));
+        driver.get("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void closePage() {
+
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void pageTimingIsUnavailableWithoutJavascript() {
+
+        assertNull(driver.readPageTiming());
+    }
+
+    @Test
+    public void elementsAreReadOneByOneWithoutJavascript() {
+
+        List<ElementSnapshot> titles = driver.readElements(driver.findElements(By.className("title")), "id");
+
+        assertEquals(titles.size(), 2);
+        assertEquals(titles.get(0).getText(), "Brakes");
+        assertEquals(titles.get(0).getAttribute("id"), "first");
+        assertEquals(titles.get(1).getText(), "Airbags");
+        assertEquals(titles.get(1).getAttribute("id"), "second");
+    }
+}
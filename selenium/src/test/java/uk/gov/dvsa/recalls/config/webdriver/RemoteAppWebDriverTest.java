@@ -0,0 +1,97 @@
+package uk.gov.dvsa.recalls.config.webdriver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Checks every FindsBy method of the driver against a stub browser: each one must return the element or elements found,
+ * with a single lookup using its own strategy. Also checks which callback runs when the session quits.
+ */
+public class RemoteAppWebDriverTest {
+
+    @DataProvider
+    public Object[][] findsByMethods() {
+
+        List<Object[]> methods = new ArrayList<>();
+        for (Method method : AppDriver.class.getMethods()) {
+            if (method.getName().matches("findElements?By\\w+") && method.getParameterCount() == 1) {
+                methods.add(new Object[]{method.getName()});
+            }
+        }
+        return methods.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "findsByMethods")
+    public void findsByMethodLooksUpWithItsOwnStrategy(String methodName) throws Exception {
+
+        StubCommandExecutor executor = new StubCommandExecutor(2);
+        RemoteAppWebDriver driver = new RemoteAppWebDriver(StubCommandExecutor.createDriver(executor));
+        boolean plural = methodName.startsWith("findElements");
+
+        Object result = RemoteAppWebDriver.class.getMethod(methodName, String.class).invoke(driver, "value");
+
+        assertNotNull(result, methodName);
+        if (plural) {
+            assertEquals(((List<?>) result).size(), 2, methodName);
+        }
+        String command = plural ? DriverCommand.FIND_ELEMENTS : DriverCommand.FIND_ELEMENT;
+        assertEquals(executor.getCount(command), 1, methodName);
+        assertEquals(executor.getLastCommand().getName(), command, methodName);
+
+        Map<String, ?> parameters = executor.getLastCommand().getParameters();
+        assertEquals(parameters.get("using"), strategyOf(methodName), methodName);
+        assertEquals(parameters.get("value"), "value", methodName);
+    }
+
+    @Test
+    public void quitRunsTheFailedQuitCallbackWhenTheSessionMayStillBeOpen() {
+
+        StubCommandExecutor executor = new StubCommandExecutor(0);
+        RemoteWebDriver remoteWebDriver = new RemoteWebDriver(command -> {
+            if (command.getName().equals(DriverCommand.QUIT)) {
+                throw new WebDriverException("quit failed");
+            }
+            return executor.execute(command);
+        }, new DesiredCapabilities());
+        AtomicInteger quit = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try {
+            new RemoteAppWebDriver(remoteWebDriver, quit::incrementAndGet, failed::incrementAndGet).quit();
+            fail("quit should have failed");
+        } catch (WebDriverException e) {
+            assertEquals(quit.get(), 0);
+            assertEquals(failed.get(), 1);
+        }
+
+        new RemoteAppWebDriver(StubCommandExecutor.createDriver(executor), quit::incrementAndGet,
+                failed::incrementAndGet).quit();
+        assertEquals(quit.get(), 1);
+        assertEquals(failed.get(), 1);
+    }
+
+    // findElementsByPartialLinkText -> "partial link text"
+    private static String strategyOf(String methodName) {
+
+        String strategy = methodName.replaceFirst("findElements?By", "");
+        return strategy.equals("XPath")
+                ? "xpath"
+                : strategy.replaceAll("([a-z])([A-Z])", "$1 $2").toLowerCase();
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.dvsa.recalls.data;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.config.Shard;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class RecallCsvTest {
+
+    private static final String CSV =
+            "Launch Date,Recalls Number,Make,Recalls Model Information,Concern,Defect,Remedy,Vehicle Numbers,"
+                    + "Manufacturer Ref,Model,VIN Start,VIN End,Build Start,Build End\r\n"
+                    + "18/02/2014,R/2014/013,MITSUBISHI,ASX,ENGINE MAY STALL,\"Soot, in time\",Reprogram,5359,R3023210,"
+                    + "ASX,JMAXJGA6WBZ400101,JMAXJGA6WCZ000869,19/04/2010,27/06/2012\r\n"
+                    + "01/03/2014,R/2014/020,MITSUBISHI,ASX,\"BRAKES \"\"MAY\"\" FAIL\",Defect,Replace,12,R1,ASX,,,"
+                    + "01/01/2010,\r\n"
+                    + "26/06/2006,RM/2010/184,YAMAHA,YZF,SEAT MAY DETACH,Defect,Refit,1,C079,YZF,,,,\r\n"
+                    + "26/06/2006,RPT/2010/185,COOPER,LT285,TYRE TREAD MAY SEPARATE,Defect,Replace,1,C080,LT285,,,,\r\n"
+                    + "26/06/2006,R/2010/186,FORD,,NO MODEL,Defect,Replace,1,C081,,,,,\r\n"
+                    + "26/06/2006,RTW/2010/187,COOPER,LT285/75R16,TYRE TREAD MAY SEPARATE,Defect,Replace,1,C082,"
+                    + "LT285/75R16,,,,\r\n";
+
+    private static final String HEADER =
+            "Launch Date,Recalls Number,Make,Recalls Model Information,Concern,Defect,Remedy,Vehicle Numbers,"
+                    + "Manufacturer Ref,Model,VIN Start,VIN End,Build Start,Build End\r\n";
+
+    @Test
+    public void rowsForTheSameVehicleBecomeOneSearch() throws Exception {
+
+        List<RecallSearch> searches = RecallCsv.read(new StringReader(CSV));
+
+        assertEquals(searches.size(), 4);
+
+        RecallSearch equipment = searches.get(0);
+        assertEquals(equipment.getRecallType(), RecallSearch.EQUIPMENT);
+        assertEquals(equipment.getExpectedHeader(), "COOPER LT285/75R16");
+        assertNull(equipment.getYear());
+
+        // Vehicle recalls without build dates are searched by launch year
+        assertEquals(searches.get(1).getExpectedHeader(), "COOPER LT285 2006");
+
+        RecallSearch mitsubishi = searches.get(2);
+        assertEquals(mitsubishi.getExpectedHeader(), "MITSUBISHI ASX 2010");
+        assertEquals(mitsubishi.getRecallTitles(),
+                new HashSet<>(Arrays.asList("ENGINE MAY STALL", "BRAKES \"MAY\" FAIL")));
+
+        assertEquals(searches.get(3).getExpectedHeader(), "YAMAHA YZF 2006");
+    }
+
+    @DataProvider
+    public Object[][] rowsTheImportRejects() {
+
+        return new Object[][]{
+                {"unknown product group", "18/02/2014,T/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,,"},
+                {"future recall year", "18/02/2014,R/2999/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,,"},
+                {"future launch date", "18/02/2999,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,,"},
+                {"invalid launch date", "next week,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,,"},
+                {"vehicle number", "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,T/2010/187,M1,KA,,,,"},
+                {"build start after launch", "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,"
+                        + "01/03/2014,"},
+                {"build end before start", "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,"
+                        + "01/03/2012,01/03/2011"},
+                {"invalid build end", "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,,31/02/2012"},
+                {"empty concern", "18/02/2014,R/2014/013,FORD,KA,,Defect,Replace,10,M1,KA,,,,"},
+                {"empty defect", "18/02/2014,R/2014/013,FORD,KA,FAULT,,Replace,10,M1,KA,,,,"},
+        };
+    }
+
+    @Test(dataProvider = "rowsTheImportRejects")
+    public void recallsTheImportRejectsAreNotExpected(String reason, String row) throws Exception {
+
+        assertTrue(RecallCsv.read(new StringReader(HEADER + row + "\r\n")).isEmpty(), reason);
+    }
+
+    @Test
+    public void oneInvalidBuildRangeRejectsTheWholeRecall() throws Exception {
+
+        String csv = HEADER
+                + "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,01/01/2010,01/01/2011\r\n"
+                + "18/02/2014,R/2014/013,FORD,KA,FAULT,Defect,Replace,10,M1,KA,,,01/01/2013,01/01/2012\r\n"
+                + "18/02/2014,R/2014/014,FORD,KA,OTHER FAULT,Defect,Replace,10,M2,KA,,,01/01/2010,\r\n";
+
+        List<RecallSearch> searches = RecallCsv.read(new StringReader(csv));
+
+        assertEquals(searches.size(), 1);
+        assertEquals(searches.get(0).getRecallTitles(), Collections.singleton("OTHER FAULT"));
+    }
+
+    @Test
+    public void everySearchIsRunByExactlyOneShard() throws Exception {
+
+        List<RecallSearch> searches = RecallCsv.read(new StringReader(CSV));
+        for (RecallSearch search : searches) {
+            int owners = 0;
+            for (int index = 0; index < 3; index++) {
+                owners += new Shard(index, 3).owns(search.getKey()) ? 1 : 0;
+            }
+            assertEquals(owners, 1, search.toString());
+        }
+    }
+}
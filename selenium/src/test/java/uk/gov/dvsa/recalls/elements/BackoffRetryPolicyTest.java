@@ -0,0 +1,46 @@
+package uk.gov.dvsa.recalls.elements;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+
+public class BackoffRetryPolicyTest {
+
+    @Test
+    public void retriesUntilTheElementIsNoLongerStale() {
+
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger recoveries = new AtomicInteger();
+
+        String text = new BackoffRetryPolicy(5, 1, 1, 1000).call("By.id: recovers", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("stale");
+            }
+            return "text";
+        }, recoveries::incrementAndGet);
+
+        assertEquals(text, "text");
+        assertEquals(recoveries.get(), 2);
+        assertEquals(RelocationStatistics.getRelocations("By.id: recovers"), 2);
+    }
+
+    @Test(expectedExceptions = StaleElementReferenceException.class)
+    public void givesUpAfterMaxAttempts() {
+
+        new BackoffRetryPolicy(3, 1, 1, 1000).call("By.id: always-stale", () -> {
+            throw new StaleElementReferenceException("stale");
+        }, () -> { });
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void givesUpAfterTheDeadline() {
+
+        new BackoffRetryPolicy(1000, 50, 50, 100).call("By.id: slow", () -> {
+            throw new StaleElementReferenceException("stale");
+        }, () -> { });
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.dvsa.recalls.elements;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.config.webdriver.RemoteAppWebDriver;
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * When cached elements are found again: only once the page may have changed.
+ */
+public class DvsaElementLocatorTest {
+
+    private StubCommandExecutor executor;
+    private RemoteAppWebDriver driver;
+    private DvsaElementLocator locator;
+
+    @BeforeMethod
+    public void createLocator() {
+
+        executor = new StubCommandExecutor(1);
+        driver = new RemoteAppWebDriver(StubCommandExecutor.createDriver(executor));
+        locator = new DvsaElementLocator(driver, By.id("make"), true);
+    }
+
+    @Test
+    public void cachedElementIsReusedOnTheSamePage() {
+
+        locator.findElement().getText();
+        locator.findElement().sendKeys("FORD");
+
+        assertEquals(executor.getCount(DriverCommand.FIND_ELEMENT), 1);
+    }
+
+    @Test
+    public void cachedElementIsFoundAgainAfterAClickOrSubmit() {
+
+        locator.findElement().click();
+        locator.findElement().submit();
+        locator.findElement();
+
+        assertEquals(executor.getCount(DriverCommand.FIND_ELEMENT), 3);
+    }
+
+    @Test
+    public void cachedElementIsFoundAgainAfterEnterOrANavigation() {
+
+        locator.findElement().sendKeys("FORD", Keys.ENTER);
+        locator.findElement();
+        driver.get("http://localhost/next");
+        locator.findElement();
+
+        assertEquals(executor.getCount(DriverCommand.FIND_ELEMENT), 3);
+    }
+}
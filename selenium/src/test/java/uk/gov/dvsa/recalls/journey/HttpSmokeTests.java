@@ -0,0 +1,78 @@
+package uk.gov.dvsa.recalls.journey;
+
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.config.TestExecutionListener;
+import uk.gov.dvsa.recalls.navigation.HttpClient;
+import uk.gov.dvsa.recalls.navigation.HttpPage;
+import uk.gov.dvsa.recalls.ui.page.HttpResultsPage;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * The recall journeys over plain HTTP, without a browser, as a quick smoke test of a deployment.
+ * Run them on their own with -Dtest.groups=http.
+ */
+@Listeners(TestExecutionListener.class)
+public class HttpSmokeTests {
+
+    public static final String HTTP = "http";
+
+    private final String make = "OUGHTRED & HARRISON";
+    private final String model = "BERLINGO AMBULANCE";
+    private final String year = "2017";
+
+    @Test(groups = HTTP, description = "User can check recalls for a vehicle of a particular make, model and year")
+    public void searchVehicleRecalls() throws IOException {
+
+        HttpClient client = new HttpClient();
+
+        HttpPage page = ok(client.get(Configurator.baseUrl() + "/recall-type"));
+        page = ok(client.submitForm(page, "recallType", "vehicle"));
+        page = ok(client.submitForm(page, "make", make));
+        page = ok(client.submitForm(page, "model", model));
+        HttpResultsPage resultsPage = new HttpResultsPage(ok(client.submitForm(page, "year", year)));
+
+        assertTrue(resultsPage.headerContains(String.format("%s %s %s", make, model, year)), "Header contains correct text");
+        assertTrue(resultsPage.recallTitleIsDisplayed("REAR AXLE SECURING BOLTS LOOSE OR MISSING"), "Recall title is displayed");
+    }
+
+    @Test(groups = HTTP, description = "User can check recalls for equipment of a particular make and model")
+    public void searchEquipmentRecalls() throws IOException {
+
+        String make = "COOPER";
+        String model = "LT285/75R16";
+        HttpClient client = new HttpClient();
+
+        HttpPage page = ok(client.get(Configurator.baseUrl() + "/recall-type"));
+        page = ok(client.submitForm(page, "recallType", "equipment"));
+        page = ok(client.submitForm(page, "make", make));
+        HttpResultsPage resultsPage = new HttpResultsPage(ok(client.submitForm(page, "model", model)));
+
+        assertTrue(resultsPage.headerContains(String.format("%s %s", make, model)), "Header contains correct text");
+        assertTrue(resultsPage.recallTitleIsDisplayed("TYRE TREAD MAY SEPARATE"), "Recall title is displayed");
+    }
+
+    @Test(groups = HTTP, description = "User is informed there are no recalls for the vehicle they are searching for")
+    public void searchNoResultsForGivenYear() throws IOException {
+
+        String path = String.format(SearchForRecallsJourneyTests.RESULTS_PAGE_PATH_VEHICLE, "vehicle",
+                URLEncoder.encode(make, "UTF-8"), URLEncoder.encode(model, "UTF-8"), "2000");
+
+        HttpResultsPage noResultsPage = new HttpResultsPage(ok(new HttpClient().get(Configurator.baseUrl() + path)));
+
+        assertTrue(noResultsPage.hasNoRecallsMessage(), "No recalls message is displayed");
+    }
+
+    private static HttpPage ok(HttpPage page) {
+
+        assertEquals(page.getStatus(), 200, page.getUrl() + " response status");
+        return page;
+    }
+}
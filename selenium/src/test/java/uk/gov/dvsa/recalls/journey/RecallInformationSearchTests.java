@@ -20,7 +20,7 @@ public class RecallInformationSearchTests extends BaseTest {
     {
         //Given I am a user of the site
         //When I open home page
-        RecallInformationSearchPage recallInformationSearchPage = recalls.goToRecallInformationSearchPage();
+        RecallInformationSearchPage recallInformationSearchPage = recalls().goToRecallInformationSearchPage();
 
         //Then I will see screen with "Continue" button
         assertTrue(recallInformationSearchPage.continueButtonExists());
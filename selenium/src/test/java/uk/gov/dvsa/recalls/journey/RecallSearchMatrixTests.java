@@ -0,0 +1,69 @@
+package uk.gov.dvsa.recalls.journey;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.base.BaseTest;
+import uk.gov.dvsa.recalls.config.Configurator;
+import uk.gov.dvsa.recalls.config.Shard;
+import uk.gov.dvsa.recalls.config.ShardedByData;
+import uk.gov.dvsa.recalls.data.RecallCsv;
+import uk.gov.dvsa.recalls.data.RecallSearch;
+import uk.gov.dvsa.recalls.logging.Logger;
+import uk.gov.dvsa.recalls.ui.page.ResultsPage;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertTrue;
+import static uk.gov.dvsa.recalls.journey.SearchForRecallsJourneyTests.RESULTS_PAGE_PATH_EQUIPMENT;
+import static uk.gov.dvsa.recalls.journey.SearchForRecallsJourneyTests.RESULTS_PAGE_PATH_VEHICLE;
+
+/**
+ * Checks the results page of every make, model and year in a recalls CSV, e.g. for a nightly sweep of the catalogue:
+ * ./gradlew selenium -Dtest.groups=matrix -Dtest.matrix.file=RecallsFile.csv -Dtest.threadCount=8
+ * The searches are split between test.shard.count JVMs, and between the test threads within each of them. Nothing
+ * runs unless test.matrix.file is set.
+ */
+public class RecallSearchMatrixTests extends BaseTest {
+
+    private static final String MATRIX = "matrix";
+
+    @DataProvider(parallel = true)
+    public Iterator<Object[]> recallSearches() {
+
+        if (Configurator.getMatrixFile().isEmpty()) {
+            return Collections.emptyIterator();
+        }
+
+        Shard shard = Shard.current();
+        List<RecallSearch> searches = RecallCsv.read(Paths.get(Configurator.getMatrixFile()), Configurator.getMatrixEncoding());
+        List<Object[]> shardSearches = searches.stream()
+                .filter(search -> shard.owns(search.getKey()))
+                .map(search -> new Object[]{search})
+                .collect(Collectors.toList());
+        Logger.info(String.format("Shard %s runs %d of the %d searches in %s",
+                shard, shardSearches.size(), searches.size(), Configurator.getMatrixFile()));
+        return shardSearches.iterator();
+    }
+
+    @ShardedByData
+    @Test(groups = MATRIX, dataProvider = "recallSearches", description = "Results page lists the recalls in the CSV")
+    public void searchFindsRecallsFromCsv(RecallSearch search) throws UnsupportedEncodingException {
+
+        ResultsPage resultsPage = RecallSearch.VEHICLE.equals(search.getRecallType())
+                ? recalls().goToResultsPage(RESULTS_PAGE_PATH_VEHICLE, search.getRecallType(),
+                        search.getMake(), search.getModel(), search.getYear())
+                : recalls().goToResultsPage(RESULTS_PAGE_PATH_EQUIPMENT, search.getRecallType(),
+                        search.getMake(), search.getModel());
+
+        assertTrue(resultsPage.headerContains(search.getExpectedHeader()), "Header contains " + search.getExpectedHeader());
+        for (String title : search.getRecallTitles()) {
+            assertTrue(resultsPage.recallTitleIsDisplayed(title), "Recall title is displayed: " + title);
+        }
+    }
+}
@@ -28,7 +28,7 @@ public class SearchForRecallsJourneyTests extends BaseTest {
 
         //Given I am a user of the site and I want to check vehicle recalls
         //I go to cvr home page
-        RecallInformationSearchPage recallInformationSearchPage = recalls.goToRecallInformationSearchPage();
+        RecallInformationSearchPage recallInformationSearchPage = recalls().goToRecallInformationSearchPage();
 
         //THEN I will see links for full CSV data and data guide
         assertTrue(recallInformationSearchPage.csvDataLinkExists());
@@ -92,7 +92,7 @@ public class SearchForRecallsJourneyTests extends BaseTest {
 
         //Given I am a user of the site and I want to check equipment recalls
         //I go to cvr home page
-        RecallInformationSearchPage recallInformationSearchPage = recalls.goToRecallInformationSearchPage();
+        RecallInformationSearchPage recallInformationSearchPage = recalls().goToRecallInformationSearchPage();
 
         //THEN I will see links for full CSV data and data guide
         assertTrue(recallInformationSearchPage.csvDataLinkExists());
@@ -137,10 +137,10 @@ public class SearchForRecallsJourneyTests extends BaseTest {
         resultsPage.clickSearchAgainButton();
     }
 
-    @Test(description = "User can use the 'Back' buttons to get from the vehicle results page to the landing page")
+    @Test(groups = NO_JS, description = "User can use the 'Back' buttons to get from the vehicle results page to the landing page")
     public void vehicleBackButtonsTest() throws UnsupportedEncodingException {
         // When I am on the results page
-        ResultsPage resultsPage = recalls.goToResultsPage(RESULTS_PAGE_PATH_VEHICLE, RECALL_TYPE_VEHICLE, make, model, year);
+        ResultsPage resultsPage = recalls().goToResultsPage(RESULTS_PAGE_PATH_VEHICLE, RECALL_TYPE_VEHICLE, make, model, year);
         // And I click the 'Back' button, I am redirected to the year selection page
         EnterYearPage enterYearPage = (EnterYearPage) resultsPage.clickBackButton(EnterYearPage.class);
         // I click the 'Back' button again, I am redirected to the make page
@@ -151,10 +151,10 @@ public class SearchForRecallsJourneyTests extends BaseTest {
         selectMakePage.clickBackButton();
     }
 
-    @Test(description = "User can use the 'Back' buttons to get from the equipment results page to the landing page")
+    @Test(groups = NO_JS, description = "User can use the 'Back' buttons to get from the equipment results page to the landing page")
     public void equipmentBackButtonsTest() throws UnsupportedEncodingException {
         // When I am on the results page
-        ResultsPage resultsPage = recalls.goToResultsPage(RESULTS_PAGE_PATH_EQUIPMENT, RECALL_TYPE_EQUIPMENT, make, model);
+        ResultsPage resultsPage = recalls().goToResultsPage(RESULTS_PAGE_PATH_EQUIPMENT, RECALL_TYPE_EQUIPMENT, make, model);
         // I click the 'Back' button again, I am redirected to the make page
         SelectEquipmentModelPage selectModelPage = (SelectEquipmentModelPage) resultsPage.clickBackButton(SelectEquipmentModelPage.class);
         // I click the 'Back' button again, I am redirected to the make page
@@ -167,7 +167,7 @@ public class SearchForRecallsJourneyTests extends BaseTest {
     public void searchMakeAndModelIsNotOnTheListTest() {
         // Given I am a user of the site and I want to check vehicle recalls
         // I go to cvr home page
-        RecallInformationSearchPage recallInformationSearchPage = recalls.goToRecallInformationSearchPage();
+        RecallInformationSearchPage recallInformationSearchPage = recalls().goToRecallInformationSearchPage();
 
         // And I select vehicle recalls option
         // Then I'm redirected to the SelectMake page
@@ -198,11 +198,11 @@ public class SearchForRecallsJourneyTests extends BaseTest {
         recallNotListedPage2.clickBackButtonRedirectToEquipmentModelPage();
     }
 
-    @Test(description = "User is informed there are no recalls for the vehicle he is searching for")
+    @Test(groups = NO_JS, description = "User is informed there are no recalls for the vehicle he is searching for")
     public void searchNoResultsForGivenYearTest() throws UnsupportedEncodingException {
         String yearWithNoRecall = "2000";
         // When I am on the results page and I can see recalls
-        ResultsPage resultsPage = recalls.goToResultsPage(RESULTS_PAGE_PATH_VEHICLE, RECALL_TYPE_VEHICLE, make, model, year);
+        ResultsPage resultsPage = recalls().goToResultsPage(RESULTS_PAGE_PATH_VEHICLE, RECALL_TYPE_VEHICLE, make, model, year);
 
         // And I click the 'Back' button
         // Then I am redirected to the year selection page
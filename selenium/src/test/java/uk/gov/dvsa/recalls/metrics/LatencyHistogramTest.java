@@ -0,0 +1,40 @@
+package uk.gov.dvsa.recalls.metrics;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesAreWithinOneBucketOfTheRecordedValues() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(histogram.getCount(), 1000);
+        assertEquals(histogram.getMean(), 500.5, 0.001);
+        assertEquals(histogram.getMax(), 1000);
+        assertWithinBucket(histogram.getPercentile(50), 500);
+        assertWithinBucket(histogram.getPercentile(95), 950);
+        assertEquals(histogram.getPercentile(100), 1000);
+    }
+
+    @Test
+    public void bucketsCoverEveryValueWithoutGaps() {
+
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketFor(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBound(bucket - 1), "value " + value);
+        }
+    }
+
+    private void assertWithinBucket(long actual, long expected) {
+
+        assertTrue(actual >= expected && actual <= expected * 1.125, actual + " is not close to " + expected);
+    }
+}
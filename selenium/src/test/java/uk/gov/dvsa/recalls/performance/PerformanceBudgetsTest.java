@@ -0,0 +1,53 @@
+package uk.gov.dvsa.recalls.performance;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class PerformanceBudgetsTest {
+
+    @PerformanceBudget(ttfb = 100, load = 1000)
+    private static class BudgetedPage {
+    }
+
+    private final PerformanceBudget budget = BudgetedPage.class.getAnnotation(PerformanceBudget.class);
+
+    @Test
+    public void breachFailsThePageInFailMode() {
+
+        try {
+            PerformanceBudgets.check(BudgetedPage.class, budget, timing("/slow", 1, 250, 900), BudgetMode.FAIL);
+            fail("budget breach was not reported");
+        } catch (PerformanceBudgetExceededException e) {
+            assertTrue(e.getMessage().contains("ttfb 250 over budget of 100"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void navigationIsCheckedOnceAndLoadNotYetReportedIsIgnored() {
+
+        PageTiming stillLoading = timing("/loading", 2, 50, -1);
+        PerformanceBudgets.check(BudgetedPage.class, budget, stillLoading, BudgetMode.FAIL);
+
+        // A second page object on the same navigation is not measured again, even though it is over budget now
+        PerformanceBudgets.check(BudgetedPage.class, budget, timing("/loading", 2, 50, 5000), BudgetMode.FAIL);
+
+        assertTrue(PerformanceBudgets.summary().contains("BudgetedPage"));
+    }
+
+    private static PageTiming timing(String url, long start, long ttfb, long load) {
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("url", url);
+        values.put("start", start);
+        values.put(PageTiming.TTFB, ttfb);
+        values.put(PageTiming.DOM_CONTENT_LOADED, 10L);
+        values.put(PageTiming.LOAD, load);
+        values.put(PageTiming.TRANSFER_BYTES, 2048L);
+        return new PageTiming(values);
+    }
+}
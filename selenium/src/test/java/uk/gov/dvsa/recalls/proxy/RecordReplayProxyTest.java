@@ -0,0 +1,117 @@
+package uk.gov.dvsa.recalls.proxy;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.backend.BackendFixtures;
+import uk.gov.dvsa.recalls.backend.StubBackend;
+import uk.gov.dvsa.recalls.config.Configurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Scanner;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class RecordReplayProxyTest {
+
+    private Path folder;
+
+    @BeforeMethod
+    public void createCacheFolder() throws IOException {
+
+        folder = Files.createTempDirectory("response-cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeCacheFolder() throws IOException {
+
+        Files.walk(folder).map(Path::toFile).sorted((a, b) -> b.compareTo(a)).forEach(File::delete);
+    }
+
+    @Test
+    public void replaysRecordedResponsesWithoutTheSite() throws IOException {
+
+        StubBackend site = new StubBackend(BackendFixtures.load(Configurator.getBackendFixtures()), 0, 0);
+        site.start();
+        String url = site.getUrl() + "/recall-type/equipment/make";
+        String recorded;
+
+        try {
+            RecordReplayProxy recorder =
+                    new RecordReplayProxy(ProxyMode.RECORD, new ResponseCache(folder, 1024 * 1024), 0);
+            recorder.start();
+            try {
+                recorded = get(recorder, url);
+                assertEquals(get(recorder, url), recorded);
+            } finally {
+                recorder.stop();
+            }
+        } finally {
+            site.stop();
+        }
+
+        RecordReplayProxy replayer = new RecordReplayProxy(ProxyMode.REPLAY, new ResponseCache(folder, 1024 * 1024), 0);
+        replayer.start();
+        try {
+            assertEquals(get(replayer, url), recorded);
+            assertEquals(get(replayer, url), recorded);
+            assertEquals(replayer.getHits(), 2);
+            assertEquals(replayer.getMisses(), 0);
+        } finally {
+            replayer.stop();
+        }
+    }
+
+    @Test
+    public void storesIdenticalBodiesOnceAndRemovesTheLeastRecentlyUsed() {
+
+        ResponseCache cache = new ResponseCache(folder, 10);
+        cache.put("GET /a", response("aaaa"));
+        cache.put("GET /b", response("aaaa"));
+        cache.put("GET /c", response("cccc"));
+        assertEquals(cache.getSize(), 8);
+
+        cache.get("GET /a");
+        cache.put("GET /d", response("dddd"));
+
+        // /b was used least recently, but its body is shared with /a, so /c has to go as well
+        assertNull(cache.get("GET /b"));
+        assertNull(cache.get("GET /c"));
+        assertNotNull(cache.get("GET /a"));
+        assertEquals(cache.getSize(), 8);
+
+        cache.save();
+        ResponseCache reopened = new ResponseCache(folder, 10);
+        assertEquals(reopened.getEntryCount(), 2);
+        assertEquals(new String(reopened.get("GET /d").getBody(), StandardCharsets.UTF_8), "dddd");
+    }
+
+    private static RecordedResponse response(String body) {
+
+        return new RecordedResponse(200, Collections.emptyMap(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String get(RecordReplayProxy proxy, String url) throws IOException {
+
+        String[] address = proxy.getAddress().split(":");
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection(
+                new Proxy(Proxy.Type.HTTP, new InetSocketAddress(address[0], Integer.parseInt(address[1]))));
+        assertEquals(connection.getResponseCode(), 200);
+        try (InputStream in = connection.getInputStream(); Scanner scanner = new Scanner(in, "UTF-8")) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.dvsa.recalls.report;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ShardReportMergerTest {
+
+    private Path folder;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+
+        folder = Files.createTempDirectory("shard-reports");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeFolder() throws IOException {
+
+        Files.walk(folder).map(Path::toFile).sorted((a, b) -> b.compareTo(a)).forEach(File::delete);
+    }
+
+    @Test
+    public void suitesSplitBetweenShardsAreAddedUp() throws Exception {
+
+        writeSuite("shard-1", "JourneyTests_results.xml", "JourneyTests", 2, 1, 0, "1.500",
+                testCase("JourneyTests", "searchByMake", null)
+                        + testCase("JourneyTests", "searchByModel", "Expected BERLINGO"));
+        writeSuite("shard-2", "JourneyTests_results.xml", "JourneyTests", 1, 0, 1, "0.250",
+                testCase("JourneyTests", "searchByYear", null));
+        writeSuite("shard-2", "CookieTests_results.xml", "CookieTests", 1, 0, 0, "0.100",
+                testCase("CookieTests", "acceptCookies", null));
+
+        Path merged = folder.resolve("merged");
+        Map<String, Element> suites = new ShardReportMerger(folder.resolve("shards"), merged).merge();
+
+        assertEquals(suites.keySet().toString(), "[CookieTests_results.xml, JourneyTests_results.xml]");
+        Element journeys = suites.get("JourneyTests_results.xml");
+        assertEquals(journeys.getAttribute("tests"), "3");
+        assertEquals(journeys.getAttribute("failures"), "1");
+        assertEquals(journeys.getAttribute("skipped"), "1");
+        assertEquals(journeys.getAttribute("time"), "1.750");
+        assertEquals(journeys.getElementsByTagName("testcase").getLength(), 3);
+        assertEquals(journeys.getElementsByTagName("failure").getLength(), 1);
+
+        Element written = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(merged.resolve("xml").resolve("JourneyTests_results.xml").toFile()).getDocumentElement();
+        assertEquals(written.getAttribute("tests"), "3");
+        assertEquals(written.getElementsByTagName("failure").getLength(), 1);
+
+        String index = new String(Files.readAllBytes(merged.resolve("index.html")), StandardCharsets.UTF_8);
+        assertTrue(index.contains("4 tests, 1 failed, 1 skipped, on 2 shards"), index);
+        assertTrue(index.contains("JourneyTests.searchByModel: Expected BERLINGO"), index);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void noShardReportsIsAnError() throws Exception {
+
+        new ShardReportMerger(folder.resolve("shards"), folder.resolve("merged")).merge();
+    }
+
+    private void writeSuite(String shard, String file, String name, int tests, int failures, int skipped, String time,
+            String testCases) throws IOException {
+
+        Path xml = Files.createDirectories(folder.resolve("shards").resolve(shard).resolve("xml"));
+        String suite = String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"
+                        + "<testsuite name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"0\" skipped=\"%d\""
+                        + " time=\"%s\">%n%s</testsuite>%n",
+                name, tests, failures, skipped, time, testCases);
+        Files.write(xml.resolve(file), suite.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String testCase(String className, String name, String failure) {
+
+        return String.format("<testcase name=\"%s\" classname=\"%s\" time=\"0.5\">%s</testcase>%n", name, className,
+                failure == null ? "" : "<failure message=\"" + failure + "\" type=\"java.lang.AssertionError\"/>");
+    }
+}
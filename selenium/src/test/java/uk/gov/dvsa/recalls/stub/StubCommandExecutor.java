@@ -0,0 +1,122 @@
+package uk.gov.dvsa.recalls.stub;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers WebDriver commands from memory, so the framework code can be exercised without a browser. Every lookup
+ * finds a fresh element, and list lookups find {@code elementCount} of them.
+ */
+public class StubCommandExecutor implements CommandExecutor {
+
+    private static final String SESSION_ID = "stub-session";
+
+    private final Map<String, AtomicInteger> commandCounts = new ConcurrentHashMap<>();
+    private final AtomicLong nextElementId = new AtomicLong();
+    private final int elementCount;
+    private volatile Command lastCommand;
+    private volatile String currentUrl = "about:blank";
+
+    public StubCommandExecutor(int elementCount) {
+
+        this.elementCount = elementCount;
+    }
+
+    public static RemoteWebDriver createDriver(int elementCount) {
+
+        return createDriver(new StubCommandExecutor(elementCount));
+    }
+
+    public static RemoteWebDriver createDriver(StubCommandExecutor executor) {
+
+        return new RemoteWebDriver(executor, new DesiredCapabilities());
+    }
+
+    @Override
+    public Response execute(Command command) {
+
+        lastCommand = command;
+        commandCounts.computeIfAbsent(command.getName(), name -> new AtomicInteger()).incrementAndGet();
+
+        Response response = new Response();
+        response.setSessionId(SESSION_ID);
+        response.setStatus(ErrorCodes.SUCCESS);
+        response.setState("success");
+        response.setValue(valueFor(command));
+        return response;
+    }
+
+    public int getCount(String commandName) {
+
+        AtomicInteger count = commandCounts.get(commandName);
+        return count == null ? 0 : count.get();
+    }
+
+    public Command getLastCommand() {
+
+        return lastCommand;
+    }
+
+    private Object valueFor(Command command) {
+
+        switch (command.getName()) {
+            case DriverCommand.NEW_SESSION:
+                Map<String, Object> capabilities = new HashMap<>();
+                capabilities.put("browserName", "stub");
+                capabilities.put("javascriptEnabled", true);
+                return capabilities;
+            case DriverCommand.GET:
+                currentUrl = String.valueOf(command.getParameters().get("url"));
+                return null;
+            case DriverCommand.GET_CURRENT_URL:
+                return currentUrl;
+            case DriverCommand.GET_TITLE:
+                return "Stub page";
+            case DriverCommand.GET_PAGE_SOURCE:
+                return "<html><body><h1>Stub page</h1></body></html>";
+            case DriverCommand.FIND_ELEMENT:
+            case DriverCommand.FIND_CHILD_ELEMENT:
+                return newElement();
+            case DriverCommand.FIND_ELEMENTS:
+            case DriverCommand.FIND_CHILD_ELEMENTS:
+                List<Object> elements = new ArrayList<>(elementCount);
+                for (int i = 0; i < elementCount; i++) {
+                    elements.add(newElement());
+                }
+                return elements;
+            case DriverCommand.GET_ELEMENT_TEXT:
+                return "Element " + command.getParameters().get("id");
+            case DriverCommand.GET_ELEMENT_ATTRIBUTE:
+                return "attribute";
+            case DriverCommand.IS_ELEMENT_DISPLAYED:
+            case DriverCommand.IS_ELEMENT_ENABLED:
+                return true;
+            case DriverCommand.GET_CURRENT_WINDOW_HANDLE:
+                return "stub-window";
+            default:
+                return null;
+        }
+    }
+
+    private Map<String, Object> newElement() {
+
+        String id = String.valueOf(nextElementId.incrementAndGet());
+        Map<String, Object> element = new HashMap<>();
+        element.put("ELEMENT", id);
+        element.put("element-6066-11e4-a52e-4f735466cecf", id);
+        return element;
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.dvsa.recalls.ui.base;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.support.FindBy;
+import org.testng.annotations.Test;
+
+import uk.gov.dvsa.recalls.navigation.GotoUrl;
+import uk.gov.dvsa.recalls.stub.StubCommandExecutor;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class PageMetadataTest {
+
+    @GotoUrl("/recall-type/{0}/make/{1}/model")
+    static class ModelForm {
+
+        @FindBy(id = "model") WebElement model;
+        @FindBy(className = "recall-title") List<WebElement> titles;
+        List<WebElement> notAnnotated;
+        String notAnElement;
+    }
+
+    @Test
+    public void initialisesElementFieldsWithLazyProxies() {
+
+        StubCommandExecutor executor = new StubCommandExecutor(3);
+        ModelForm form = new ModelForm();
+
+        PageMetadata.of(ModelForm.class).initElements(form, StubCommandExecutor.createDriver(executor));
+        assertEquals(executor.getCount(DriverCommand.FIND_ELEMENT), 0);
+
+        assertEquals(form.titles.size(), 3);
+        assertEquals(form.model.getAttribute("value"), "attribute");
+        assertEquals(executor.getCount(DriverCommand.FIND_ELEMENT), 1);
+        assertNull(form.notAnnotated);
+        assertNull(form.notAnElement);
+    }
+
+    @Test
+    public void resolvesTheGotoUrlTemplate() {
+
+        assertEquals(PageMetadata.of(ModelForm.class).resolvePath("vehicle", "FORD"), "/recall-type/vehicle/make/FORD/model");
+    }
+
+    @Test(expectedExceptions = PageInstanceNotFoundException.class)
+    public void refusesToCreateAbstractPages() {
+
+        PageMetadata.of(Page.class).newInstance();
+    }
+}
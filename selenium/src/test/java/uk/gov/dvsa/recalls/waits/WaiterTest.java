@@ -0,0 +1,45 @@
+package uk.gov.dvsa.recalls.waits;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WaiterTest {
+
+    @Test
+    public void returnsOnceTheConditionIsMet() {
+
+        AtomicInteger polls = new AtomicInteger();
+
+        String value = new Waiter(null, 1000, 1, 4).until("third poll", driver -> {
+            if (polls.incrementAndGet() < 3) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "ready";
+        });
+
+        assertEquals(value, "ready");
+        assertEquals(polls.get(), 3);
+        assertTrue(WaitStatistics.summary().contains("third poll"));
+    }
+
+    @Test
+    public void pollsLessOftenTheLongerItWaits() {
+
+        AtomicInteger polls = new AtomicInteger();
+
+        try {
+            new Waiter(null, 300, 1, 100).until("never", driver -> polls.incrementAndGet() < 0);
+        } catch (TimeoutException e) {
+            // 1, 2, 4 ... 64 ms, then every 100 ms: about ten polls, not the 300 a fixed 1 ms interval would make
+            assertTrue(polls.get() < 15, polls.get() + " polls");
+            return;
+        }
+        throw new AssertionError("Expected a timeout");
+    }
+}